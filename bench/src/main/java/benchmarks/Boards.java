@@ -0,0 +1,33 @@
+package benchmarks;
+
+import game.BitBoardEngine;
+import game.Direction;
+import game.GameEngine;
+import game.MoveResult;
+
+import java.util.SplittableRandom;
+
+// representative boards for the benchmarks, sampled from seeded random games
+final class Boards {
+    private Boards() {}
+
+    // returns `count` boards holding between minTiles and maxTiles tiles, sampled from games seeded from `seed`
+    static long[] sample(long seed, int count, int minTiles, int maxTiles) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] boards = new long[count];
+        int found = 0;
+
+        while (found < count) {
+            GameEngine engine = new BitBoardEngine(random.nextLong());
+            while (!engine.gameOver() && found < count) {
+                int tiles = BitBoardEngine.SIZE * BitBoardEngine.SIZE - engine.getEmptyCount();
+                if (tiles >= minTiles && tiles <= maxTiles && random.nextInt(4) == 0)
+                    boards[found++] = engine.getBoard();
+
+                if (MoveResult.moved(engine.turn(Direction.of(random.nextInt(Direction.COUNT)))))
+                    engine.spawn();
+            }
+        }
+        return boards;
+    }
+}
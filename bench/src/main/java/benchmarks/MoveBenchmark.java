@@ -0,0 +1,84 @@
+package benchmarks;
+
+import game.BitBoardEngine;
+import game.Direction;
+import game.GameEngine;
+import game.Grid;
+import game.MoveResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// moves in every direction: the table kernel, the engine turn and the Grid adapter used by the UI
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveBenchmark {
+    private static final int BOARDS = 1 << 12;
+
+    @Param({"UP", "DOWN", "LEFT", "RIGHT"})
+    public Direction direction;
+
+    private long[] boards;
+    private int index;
+    private GameEngine engine;
+    private Grid grid;
+    private Direction opposite;
+    private boolean flip;
+
+    @Setup
+    public void setup() {
+        this.boards = Boards.sample(42, BOARDS, 2, 16);
+        this.engine = new BitBoardEngine(42);
+        this.grid = new Grid();
+        this.grid.restart(42);
+        this.opposite = switch (this.direction) {
+            case UP -> Direction.DOWN;
+            case DOWN -> Direction.UP;
+            case LEFT -> Direction.RIGHT;
+            case RIGHT -> Direction.LEFT;
+        };
+    }
+
+    private long next() {
+        return this.boards[this.index++ & (BOARDS - 1)];
+    }
+
+    @Benchmark
+    public long move() {
+        return BitBoardEngine.move(this.next(), this.direction);
+    }
+
+    // loads a board without moving it: the baseline to subtract from engineTurn
+    @Benchmark
+    public long engineLoad() {
+        this.engine.load(this.next(), 0);
+        return this.engine.getBoard();
+    }
+
+    // loads a board and moves it; the turn alone costs the difference from engineLoad
+    @Benchmark
+    public long engineTurn() {
+        this.engine.load(this.next(), 0);
+        return this.engine.turn(this.direction);
+    }
+
+    // alternates the direction with its opposite, as the key handler plays it; when neither moves, the
+    // first direction that does is played, and a game with no move left restarts, so every call
+    // measures a real turn and its spawn
+    @Benchmark
+    public long gridTurn() {
+        this.flip = !this.flip;
+        long result = this.grid.turn(this.flip ? this.direction : this.opposite);
+        for (int k = 0; !MoveResult.moved(result) && k < Direction.COUNT; k++)
+            result = this.grid.turn(Direction.of(k));
+        if (MoveResult.moved(result))
+            this.grid.generateTile();
+        else
+            this.grid.restart(42);
+        return result;
+    }
+}
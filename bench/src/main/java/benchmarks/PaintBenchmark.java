@@ -0,0 +1,64 @@
+package benchmarks;
+
+import game.Direction;
+import game.Fonts;
+import game.Grid;
+import game.GridRenderer;
+import game.MoveResult;
+import game.StaticLayer;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// painting a mid-game grid over the static layer into an offscreen image
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private Grid grid;
+    private GridRenderer renderer;
+    private Fonts fonts;
+    private StaticLayer layer;
+
+    @Setup
+    public void setup() {
+        this.image = new BufferedImage(520, 780, BufferedImage.TYPE_INT_ARGB);
+        this.graphics = this.image.createGraphics();
+        this.graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // the game fonts when run from the bench directory, logical fonts otherwise
+        this.fonts = new Fonts(Path.of("../ClearSans-Bold.ttf"), Path.of("../ClearSans-Regular.ttf"));
+
+        // play a seeded game to a mid-game board
+        this.grid = new Grid();
+        this.grid.restart(3);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int k = 0; k < 60; k++) {
+            if (MoveResult.moved(this.grid.turn(Direction.of(random.nextInt(Direction.COUNT)))))
+                this.grid.generateTile();
+        }
+        this.renderer = new GridRenderer();
+        this.layer = new StaticLayer(this.fonts, 520, 780);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        this.layer.paint(this.graphics);
+        this.renderer.paint(this.graphics, this.grid, this.fonts, System.nanoTime());
+        return this.image;
+    }
+}
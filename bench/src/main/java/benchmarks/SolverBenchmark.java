@@ -0,0 +1,54 @@
+package benchmarks;
+
+import game.Direction;
+import game.ExpectimaxSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// expectimax decisions on mid-game boards, across depths and search threads (the speedup curve)
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    // more boards than any iteration decides, so no board is searched twice with its decision cached
+    private static final int BOARDS = 1 << 17;
+
+    @Param({"3", "4", "5"})
+    public int depth;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int parallelism;
+
+    private long[] boards;
+    private int index;
+    private ExpectimaxSolver solver;
+
+    @Setup
+    public void setup() {
+        this.boards = Boards.sample(5, BOARDS, 6, 12);
+        this.solver = new ExpectimaxSolver(this.depth, ExpectimaxSolver.DEFAULT_TABLE_BITS, this.parallelism);
+    }
+
+    // every iteration starts cold from the first board, so cached decisions from earlier iterations are not measured
+    @Setup(Level.Iteration)
+    public void clear() {
+        this.solver.clear();
+        this.index = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.solver.shutdown();
+    }
+
+    // the boards never wrap around: an iteration running past the last board fails rather than
+    // measuring cache hits
+    @Benchmark
+    public Direction bestMove() {
+        return this.solver.bestMove(this.boards[this.index++]);
+    }
+}
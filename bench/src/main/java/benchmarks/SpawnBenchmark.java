@@ -0,0 +1,46 @@
+package benchmarks;
+
+import game.BitBoardEngine;
+import game.GameEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// spawning a tile on sparse and nearly full boards
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+    private static final int BOARDS = 1 << 12;
+
+    @Param({"sparse", "nearFull"})
+    public String density;
+
+    private long[] boards;
+    private int index;
+    private GameEngine engine;
+
+    @Setup
+    public void setup() {
+        this.boards = this.density.equals("sparse") ? Boards.sample(7, BOARDS, 2, 5) : Boards.sample(7, BOARDS, 13, 15);
+        this.engine = new BitBoardEngine(7);
+    }
+
+    // loads a board without spawning: the baseline to subtract from spawn
+    @Benchmark
+    public long load() {
+        this.engine.load(this.boards[this.index++ & (BOARDS - 1)], 0);
+        return this.engine.getBoard();
+    }
+
+    // loads a board and spawns on it; the spawn alone costs the difference from load
+    @Benchmark
+    public long spawn() {
+        this.engine.load(this.boards[this.index++ & (BOARDS - 1)], 0);
+        this.engine.spawn();
+        return this.engine.getBoard();
+    }
+}
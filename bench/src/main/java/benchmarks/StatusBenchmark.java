@@ -0,0 +1,48 @@
+package benchmarks;
+
+import game.BitBoardEngine;
+import game.GameEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// the board scans behind game over: merge and empty cell checks, and the full status refresh of a load
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusBenchmark {
+    private static final int BOARDS = 1 << 12;
+
+    private long[] boards;
+    private int index;
+    private GameEngine engine;
+
+    @Setup
+    public void setup() {
+        this.boards = Boards.sample(11, BOARDS, 10, 16);
+        this.engine = new BitBoardEngine(11);
+    }
+
+    private long next() {
+        return this.boards[this.index++ & (BOARDS - 1)];
+    }
+
+    @Benchmark
+    public boolean hasMerge() {
+        return BitBoardEngine.hasMerge(this.next());
+    }
+
+    @Benchmark
+    public int countEmpty() {
+        return BitBoardEngine.countEmpty(this.next());
+    }
+
+    @Benchmark
+    public boolean gameOver() {
+        this.engine.load(this.next(), 0);
+        return this.engine.gameOver();
+    }
+}
@@ -0,0 +1,24 @@
+package benchmarks;
+
+import game.Palette;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// looking up the colours of a tile value, as the renderer does for every tile it paints
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TileBenchmark {
+    private int exponent;
+
+    @Benchmark
+    public int colours() {
+        this.exponent = (this.exponent + 1) % 12;
+        int value = this.exponent == 0 ? 0 : 1 << this.exponent;
+        return Palette.tile(Palette.exponent(value)).getRGB() ^ Palette.pen(Palette.exponent(value)).getRGB();
+    }
+}
@@ -0,0 +1,169 @@
+// Animation Class: the motion of every tile during a turn, timed by the clock rather than by frames
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// a turn is recorded as a motion for every tile, from the cell it left to the cell it ended in,
+// along with the cells where tiles merged and the cell where the new tile spawned
+// the animation slides every tile to its destination, then pops the merged tiles and grows the
+// spawned one; where a frame falls is worked out from the time elapsed since the animation
+// started, so dropped frames shorten the animation rather than stretch it
+// cells are numbered 4 * row + col, like the engine nibbles
+
+public class Animation {
+    public static final long SLIDE_NANOS = 100_000_000L;   // time taken by the tiles to slide
+    public static final long POP_NANOS = 100_000_000L;     // time taken by merged and spawned tiles to pop in
+
+    private static final int CELLS = BitBoardEngine.SIZE * BitBoardEngine.SIZE;
+
+    private final int[] sources;        // cell each tile left
+    private final int[] destinations;   // cell each tile ended in
+    private final int[] exponents;      // exponent of each tile before merging
+    private int count;                  // number of tiles in motion
+    private int mergedCells;            // mask of the cells where two tiles merged
+    private int spawnCell;              // cell of the spawned tile, -1 if none
+    private long start;                 // System.nanoTime() when the animation started
+    private boolean started;            // true once the recorded turn has started animating
+
+    // base constructor
+    public Animation() {
+        this.sources = new int[CELLS];
+        this.destinations = new int[CELLS];
+        this.exponents = new int[CELLS];
+        this.clear();
+    }
+
+    // forgets the recorded turn, leaving nothing to animate
+    public void clear() {
+        this.count = 0;
+        this.mergedCells = 0;
+        this.spawnCell = -1;
+        this.started = false;
+    }
+
+    // records the motion of every tile of a board moved in the given direction
+    public void record(long board, Direction direction) {
+        this.clear();
+        int size = BitBoardEngine.SIZE;
+        for (int line = 0; line < size; line++) {
+            int placed = 0;         // tiles placed so far along the line, from its leading edge
+            int pending = 0;        // exponent of the last tile placed, if it can still merge
+
+            for (int k = 0; k < size; k++) {
+                int cell = Animation.cell(direction, line, k);
+                int exponent = (int) ((board >>> (4 * cell)) & 0xF);
+                if (exponent == 0)
+                    continue;
+
+                // the same merge rules as BitBoardEngine.slideRowLeft()
+                int destination;
+                if (exponent == pending && exponent < BitBoardEngine.MAX_EXPONENT) {
+                    destination = Animation.cell(direction, line, placed - 1);
+                    this.mergedCells |= 1 << destination;
+                    pending = 0;
+                } else {
+                    destination = Animation.cell(direction, line, placed++);
+                    pending = exponent;
+                }
+                this.sources[this.count] = cell;
+                this.destinations[this.count] = destination;
+                this.exponents[this.count] = exponent;
+                this.count++;
+            }
+        }
+    }
+
+    // records the tile spawned after the move
+    public void spawn(int cell) {
+        this.spawnCell = cell;
+    }
+
+    // starts animating the recorded turn at the given System.nanoTime()
+    public void start(long now) {
+        this.start = now;
+        this.started = true;
+    }
+
+    // moves the end of the animation forward so that at most `remaining` nanoseconds of it are left
+    // after the given System.nanoTime(); the tiles jump ahead to catch up
+    public void hurry(long now, long remaining) {
+        long total = SLIDE_NANOS + POP_NANOS;
+        if (this.started && this.start + total - now > remaining)
+            this.start = now + remaining - total;
+    }
+
+    // checks if the animation is still playing at the given System.nanoTime()
+    public boolean isRunning(long now) {
+        return this.started && now - this.start < SLIDE_NANOS + POP_NANOS;
+    }
+
+    // checks if the tiles are still sliding at the given System.nanoTime()
+    public boolean isSliding(long now) {
+        return this.started && now - this.start < SLIDE_NANOS;
+    }
+
+    // returns how far the tiles have slid at the given System.nanoTime(), from 0 to 1
+    public double slide(long now) {
+        return Animation.fraction(now - this.start, SLIDE_NANOS);
+    }
+
+    // returns how far merged and spawned tiles have popped in at the given System.nanoTime(), from 0 to 1
+    public double pop(long now) {
+        return Animation.fraction(now - this.start - SLIDE_NANOS, POP_NANOS);
+    }
+
+    // number of tiles in motion
+    public int getCount() {
+        return this.count;
+    }
+
+    // cell the given tile left
+    public int getSource(int tile) {
+        return this.sources[tile];
+    }
+
+    // cell the given tile ended in
+    public int getDestination(int tile) {
+        return this.destinations[tile];
+    }
+
+    // exponent of the given tile before merging
+    public int getExponent(int tile) {
+        return this.exponents[tile];
+    }
+
+    // mask of the cells where two tiles merged
+    public int getMergedCells() {
+        return this.mergedCells;
+    }
+
+    // cell of the spawned tile, -1 if none
+    public int getSpawnCell() {
+        return this.spawnCell;
+    }
+
+    // mask of every cell the animation paints over: the cells tiles left, ended in or spawned on
+    public int getCells() {
+        int cells = this.spawnCell < 0 ? 0 : 1 << this.spawnCell;
+        for (int tile = 0; tile < this.count; tile++) {
+            if (this.sources[tile] != this.destinations[tile])
+                cells |= 1 << this.sources[tile] | 1 << this.destinations[tile];
+        }
+        return cells | this.mergedCells;
+    }
+
+    // returns the cell k steps along a line from its leading edge in the given direction
+    private static int cell(Direction direction, int line, int k) {
+        int last = BitBoardEngine.SIZE - 1;
+        return switch (direction) {
+            case LEFT -> BitBoardEngine.SIZE * line + k;
+            case RIGHT -> BitBoardEngine.SIZE * line + last - k;
+            case UP -> BitBoardEngine.SIZE * k + line;
+            case DOWN -> BitBoardEngine.SIZE * (last - k) + line;
+        };
+    }
+
+    // returns elapsed as a fraction of duration, clamped to [0, 1]
+    private static double fraction(long elapsed, long duration) {
+        return Math.max(0, Math.min(1, (double) elapsed / duration));
+    }
+}
@@ -0,0 +1,63 @@
+// BestMoveCache Class: a bounded cache of best moves that stores every board in its canonical orientation
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// the 8 symmetric forms of a position share one slot, so the cache holds up to 8 times as many
+// distinct positions as a cache keyed on raw boards; a new entry overwrites its slot
+// like the transposition table, every slot stores its key xor-ed with its move word, so a slot torn
+// by a concurrent writer fails the key check instead of returning another board's move
+
+import java.util.Arrays;
+
+public class BestMoveCache {
+    private static final long SPREAD = 0x9E3779B97F4A7C15L; // odd multiplier spreading a move over its word
+
+    private final long[] keys;      // canonical board xor move word of every slot (0 if empty)
+    private final long[] moves;     // move word of every slot: the best direction in the canonical
+                                    // orientation, spread over all 64 bits and kept in the low 2
+    private final int mask;         // slot index mask
+
+    // creates a cache holding 2^bits boards
+    public BestMoveCache(int bits) {
+        if (bits < 1 || bits > 28)
+            throw new IllegalArgumentException("cache size out of range: 2^" + bits);
+        this.keys = new long[1 << bits];
+        this.moves = new long[1 << bits];
+        this.mask = (1 << bits) - 1;
+    }
+
+    // returns the cached best direction for a board, or null if it is not stored
+    public Direction get(long board) {
+        int symmetry = BoardSymmetry.canonicalSymmetry(board);
+        long canonical = BoardSymmetry.apply(board, symmetry);
+        int slot = index(canonical) & this.mask;
+        long move = this.moves[slot];
+        if ((this.keys[slot] ^ move) != canonical || canonical == 0)
+            return null;
+        return BoardSymmetry.fromTransformed(Direction.of((int) move & 3), symmetry);
+    }
+
+    // stores the best direction for a board
+    public void put(long board, Direction direction) {
+        int symmetry = BoardSymmetry.canonicalSymmetry(board);
+        long canonical = BoardSymmetry.apply(board, symmetry);
+        int slot = index(canonical) & this.mask;
+        long move = BoardSymmetry.toTransformed(direction, symmetry).ordinal() * SPREAD;
+        this.moves[slot] = move;
+        this.keys[slot] = canonical ^ move;
+    }
+
+    // empties the cache
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        Arrays.fill(this.moves, 0);
+    }
+
+    // spreads the bits of a board across the index range
+    private static int index(long board) {
+        board ^= board >>> 33;
+        board *= 0xC4CEB9FE1A85EC53L;
+        board ^= board >>> 33;
+        return (int) board;
+    }
+}
@@ -0,0 +1,455 @@
+// BitBoardEngine Class: plays the game of 2048 on a 4x4 board packed into a single 64-bit value
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// every cell is a 4-bit nibble holding the log2 exponent of its tile (0 is an empty cell)
+// cell (row, col) lives at bit offset 4 * (4 * row + col), so each row is one 16-bit chunk
+// with column 0 in the lowest nibble
+
+import java.util.SplittableRandom;
+
+public class BitBoardEngine implements GameEngine {
+    public static final int SIZE = 4;               // dimensions of playing grid
+    public static final int WIN_EXPONENT = 11;      // exponent of the 2048 tile
+    public static final int MAX_EXPONENT = 15;      // largest exponent a nibble can hold (32768)
+
+    private static final long ROW_MASK = 0xFFFFL;                   // lowest row of a board
+    private static final long NIBBLE_LOW = 0x1111111111111111L;     // lowest bit of every nibble
+    private static final long HORIZONTAL_PAIRS = 0x0111011101110111L; // cells with a right neighbour
+    private static final long VERTICAL_PAIRS = 0x0000111111111111L;   // cells with a neighbour below
+
+    // row transition tables, indexed by a 16-bit row and built once at class load
+    // a row is unchanged by a move exactly when its table entry equals the row itself
+    private static final char[] ROW_LEFT = new char[1 << 16];   // row after sliding towards column 0
+    private static final char[] ROW_RIGHT = new char[1 << 16];  // row after sliding towards column 3
+    private static final int[] SCORE_LEFT = new int[1 << 16];   // score gained sliding towards column 0
+    private static final int[] SCORE_RIGHT = new int[1 << 16];  // score gained sliding towards column 3
+
+    static {
+        for (int row = 0; row < (1 << 16); row++) {
+            int reversed = reverseRow(row);
+            ROW_LEFT[row] = (char) slideRowLeft(row);
+            ROW_RIGHT[row] = (char) reverseRow(slideRowLeft(reversed));
+            SCORE_LEFT[row] = rowScore(row);
+            SCORE_RIGHT[row] = rowScore(reversed);
+        }
+    }
+
+    private long board;                     // packed board
+    private int score;                      // current player score
+    private long empty;                     // lowest bit of every empty nibble, kept in step with the board
+    private int emptyCount;                 // number of empty cells
+    private int maxExponent;                // largest exponent on the board
+    private boolean over;                   // true if no move is possible
+    private int statusVersion;              // bumped whenever over, won or the largest tile changes
+    private SplittableRandom random;        // source of spawn positions and values
+    private EngineMetrics metrics;          // counts what this engine does, null if not counted
+
+    // base constructor
+    public BitBoardEngine() {
+        this(new SplittableRandom());
+    }
+
+    // seeded constructor, for reproducible games
+    public BitBoardEngine(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private BitBoardEngine(SplittableRandom random) {
+        this.random = random;
+        this.reset();
+    }
+
+    // copy constructor; the copy draws from a stream split off the original
+    private BitBoardEngine(BitBoardEngine other) {
+        this.random = other.random.split();
+        this.board = other.board;
+        this.score = other.score;
+        this.empty = other.empty;
+        this.emptyCount = other.emptyCount;
+        this.maxExponent = other.maxExponent;
+        this.over = other.over;
+        this.statusVersion = other.statusVersion;
+    }
+
+    // returns an independent engine with the same board and score, not counted by the metrics of this one
+    public BitBoardEngine copy() {
+        return new BitBoardEngine(this);
+    }
+
+    // counts everything this engine does from now on in the given metrics, or stops counting if null
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    // returns the metrics counting this engine, null if none
+    public EngineMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    // resets the board, as though a new game began
+    public void reset() {
+        if (this.metrics != null)
+            this.metrics.gameStarted();
+        this.board = 0;
+        this.score = 0;
+        this.empty = NIBBLE_LOW;
+        this.emptyCount = SIZE * SIZE;
+        this.maxExponent = 0;
+        this.over = false;
+        this.statusVersion++;
+
+        // select two random cells to give numbers to
+        this.spawn();
+        this.spawn();
+    }
+
+    // resets the board and restarts the random stream from a seed, so the new game can be replayed
+    public void reset(long seed) {
+        this.reseed(seed);
+        this.reset();
+    }
+
+    // restarts the random stream from a seed, leaving the board and score as they are
+    public void reseed(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // replaces the board and score, as when resuming a game
+    public void load(long board, int score) {
+        this.board = board;
+        this.score = score;
+        this.empty = zeroNibbles(board);
+        this.emptyCount = Long.bitCount(this.empty);
+        this.maxExponent = maxExponent(board);
+        this.over = this.emptyCount == 0 && !hasMerge(board);
+        this.statusVersion++;
+    }
+
+    // returns the packed board
+    public long getBoard() {
+        return this.board;
+    }
+
+    // returns the current score
+    public int getScore() {
+        return this.score;
+    }
+
+    // returns the exponent of the cell at the given row and column
+    public int getExponent(int row, int col) {
+        return exponentAt(this.board, row, col);
+    }
+
+    // returns the tile value of the cell at the given row and column (0 if empty)
+    public int getValue(int row, int col) {
+        int exponent = this.getExponent(row, col);
+        return exponent == 0 ? 0 : 1 << exponent;
+    }
+
+    // slides all tiles in the given direction; returns the outcome encoded by MoveResult
+    public long turn(Direction direction) {
+        long before = this.board;
+        long rows;          // the board with its rows laid out along the move
+        long result;
+        int gained;
+
+        switch (direction) {
+            case LEFT -> {
+                rows = before;
+                result = slideLeft(before);
+                gained = scoreLeft(before);
+            }
+            case RIGHT -> {
+                rows = before;
+                result = slideRight(before);
+                gained = scoreRight(before);
+            }
+            case UP -> {
+                rows = transpose(before);
+                result = transpose(slideLeft(rows));
+                gained = scoreLeft(rows);
+            }
+            default -> {
+                rows = transpose(before);
+                result = transpose(slideRight(rows));
+                gained = scoreRight(rows);
+            }
+        }
+
+        if (result == before) {
+            if (this.metrics != null)
+                this.metrics.illegalMove();
+            return MoveResult.of(false, 0, this.maxExponent);
+        }
+        if (this.metrics != null)
+            this.metrics.moveApplied(rows);
+        this.board = result;
+        this.score += gained;
+        this.empty = zeroNibbles(result);
+        this.emptyCount = Long.bitCount(this.empty);
+
+        // only a merge can raise the largest tile, and a move that slid anything leaves a cell free
+        if (gained != 0) {
+            int max = maxExponent(result);
+            if (max != this.maxExponent) {
+                this.maxExponent = max;
+                this.statusVersion++;
+            }
+        }
+        return MoveResult.of(true, gained, this.maxExponent);
+    }
+
+    // places a 2 or a 4 on a random empty cell; returns false if the board is full
+    public boolean spawn() {
+        if (this.emptyCount == 0)
+            return false;
+
+        // a single draw picks both the empty cell and the value, which can either be 2 or 4
+        int draw = this.random.nextInt(this.emptyCount << 1);
+        this.place(selectNibble(this.empty, draw >>> 1) >>> 2, (draw & 1) + 1);
+        if (this.metrics != null)
+            this.metrics.spawned();
+        return true;
+    }
+
+    // places a tile of the given exponent on an empty cell (numbered 4 * row + col), as a spawn would;
+    // only the exponents of a spawn, 1 (a 2) and 2 (a 4), can be placed
+    public void place(int cell, int exponent) {
+        if (cell < 0 || cell >= SIZE * SIZE)
+            throw new IllegalArgumentException("no cell " + cell);
+        if (exponent != 1 && exponent != 2)
+            throw new IllegalArgumentException("a spawn cannot have exponent " + exponent);
+        int shift = 4 * cell;
+        if (((this.empty >>> shift) & 1) == 0)
+            throw new IllegalArgumentException("cell " + cell + " is not empty");
+
+        this.board |= (long) exponent << shift;
+        this.empty &= ~(1L << shift);
+        this.emptyCount--;
+
+        // the game can only end once the last free cell is filled
+        if (exponent > this.maxExponent) {
+            this.maxExponent = exponent;
+            this.statusVersion++;
+        }
+        if (this.emptyCount == 0 && !hasMerge(this.board)) {
+            this.over = true;
+            this.statusVersion++;
+            if (this.metrics != null)
+                this.metrics.gameFinished();
+        }
+    }
+
+    // checks for empty spaces in the board; returns true if there is an empty space
+    public boolean hasEmpty() {
+        return this.emptyCount != 0;
+    }
+
+    // returns the number of empty cells
+    public int getEmptyCount() {
+        return this.emptyCount;
+    }
+
+    // checks for two adjacent cells holding the same value; returns true if there are any
+    public boolean hasMerge() {
+        return hasMerge(this.board);
+    }
+
+    // checks if a tile of 2048 or more is on the board
+    public boolean gameWon() {
+        return this.maxExponent >= WIN_EXPONENT;
+    }
+
+    // checks if no move is possible
+    public boolean gameOver() {
+        return this.over;
+    }
+
+    // returns the largest exponent on the board
+    public int getMaxExponent() {
+        return this.maxExponent;
+    }
+
+    // returns a counter that changes whenever the game over, win or largest tile status changes
+    public int getStatusVersion() {
+        return this.statusVersion;
+    }
+
+    // slides all tiles of a packed board in the given direction, without scoring
+    public static long move(long board, Direction direction) {
+        return switch (direction) {
+            case LEFT -> slideLeft(board);
+            case RIGHT -> slideRight(board);
+            case UP -> transpose(slideLeft(transpose(board)));
+            case DOWN -> transpose(slideRight(transpose(board)));
+        };
+    }
+
+    // returns the score gained by sliding all tiles of a packed board in the given direction
+    public static int moveScore(long board, Direction direction) {
+        return switch (direction) {
+            case LEFT -> scoreLeft(board);
+            case RIGHT -> scoreRight(board);
+            case UP -> scoreLeft(transpose(board));
+            case DOWN -> scoreRight(transpose(board));
+        };
+    }
+
+    // slides every row of a packed board towards column 0
+    public static long slideLeft(long board) {
+        return (long) ROW_LEFT[(int) (board & ROW_MASK)]
+                | (long) ROW_LEFT[(int) ((board >>> 16) & ROW_MASK)] << 16
+                | (long) ROW_LEFT[(int) ((board >>> 32) & ROW_MASK)] << 32
+                | (long) ROW_LEFT[(int) (board >>> 48)] << 48;
+    }
+
+    // slides every row of a packed board towards column 3
+    public static long slideRight(long board) {
+        return (long) ROW_RIGHT[(int) (board & ROW_MASK)]
+                | (long) ROW_RIGHT[(int) ((board >>> 16) & ROW_MASK)] << 16
+                | (long) ROW_RIGHT[(int) ((board >>> 32) & ROW_MASK)] << 32
+                | (long) ROW_RIGHT[(int) (board >>> 48)] << 48;
+    }
+
+    // returns the score gained by sliding every row of a packed board towards column 0
+    public static int scoreLeft(long board) {
+        return SCORE_LEFT[(int) (board & ROW_MASK)]
+                + SCORE_LEFT[(int) ((board >>> 16) & ROW_MASK)]
+                + SCORE_LEFT[(int) ((board >>> 32) & ROW_MASK)]
+                + SCORE_LEFT[(int) (board >>> 48)];
+    }
+
+    // returns the score gained by sliding every row of a packed board towards column 3
+    public static int scoreRight(long board) {
+        return SCORE_RIGHT[(int) (board & ROW_MASK)]
+                + SCORE_RIGHT[(int) ((board >>> 16) & ROW_MASK)]
+                + SCORE_RIGHT[(int) ((board >>> 32) & ROW_MASK)]
+                + SCORE_RIGHT[(int) (board >>> 48)];
+    }
+
+    // returns the largest exponent on a packed board
+    public static int maxExponent(long board) {
+        int max = 0;
+        for (int k = 0; k < SIZE * SIZE; k++, board >>>= 4)
+            max = Math.max(max, (int) (board & 0xF));
+        return max;
+    }
+
+    // returns the exponent of the cell at the given row and column of a packed board
+    public static int exponentAt(long board, int row, int col) {
+        return (int) ((board >>> (4 * (SIZE * row + col))) & 0xF);
+    }
+
+    // returns a mask with the lowest bit of every empty nibble set
+    public static long emptyCells(long board) {
+        return zeroNibbles(board);
+    }
+
+    // counts the empty cells of a packed board
+    public static int countEmpty(long board) {
+        return Long.bitCount(zeroNibbles(board));
+    }
+
+    // checks for two adjacent cells holding the same value on a packed board; two tiles of
+    // MAX_EXPONENT cannot merge, as in the row tables
+    public static boolean hasMerge(long board) {
+        long mergeable = ~fullNibbles(board);
+        long horizontal = zeroNibbles(board ^ (board >>> 4)) & HORIZONTAL_PAIRS & mergeable;
+        long vertical = zeroNibbles(board ^ (board >>> 16)) & VERTICAL_PAIRS & mergeable;
+        return (horizontal | vertical) != 0;
+    }
+
+    // returns the bit offset of the k-th (from 0) nibble flagged in a mask of nibble-low bits
+    // narrows down by halves, so the cost does not depend on k
+    private static int selectNibble(long mask, int k) {
+        int shift = 0;
+        for (int width = 32; width >= 4; width >>>= 1) {
+            int low = Long.bitCount(mask & ((1L << width) - 1));
+            if (k >= low) {
+                k -= low;
+                mask >>>= width;
+                shift += width;
+            }
+        }
+        return shift;
+    }
+
+    // sets the lowest bit of every nibble that is zero
+    private static long zeroNibbles(long x) {
+        x |= x >>> 2;
+        x |= x >>> 1;
+        return ~x & NIBBLE_LOW;
+    }
+
+    // sets the lowest bit of every nibble holding MAX_EXPONENT
+    private static long fullNibbles(long x) {
+        x &= x >>> 2;
+        x &= x >>> 1;
+        return x & NIBBLE_LOW;
+    }
+
+    // swaps rows and columns of a packed board
+    public static long transpose(long x) {
+        long a1 = x & 0xF0F00F0FF0F00F0FL;
+        long a2 = x & 0x0000F0F00000F0F0L;
+        long a3 = x & 0x0F0F00000F0F0000L;
+        long a = a1 | (a2 << 12) | (a3 >>> 12);
+        long b1 = a & 0xFF00FF0000FF00FFL;
+        long b2 = a & 0x00FF00FF00000000L;
+        long b3 = a & 0x00000000FF00FF00L;
+        return b1 | (b2 >>> 24) | (b3 << 24);
+    }
+
+    // reverses the order of the cells in a 16-bit row
+    public static int reverseRow(int row) {
+        return ((row >>> 12) & 0xF) | ((row >>> 4) & 0xF0) | ((row << 4) & 0xF00) | ((row << 12) & 0xF000);
+    }
+
+    // slides and merges a 16-bit row towards column 0 (used to build the row tables)
+    public static int slideRowLeft(int row) {
+        int result = 0;
+        int target = 0;     // next free column of the result
+        int pending = 0;    // exponent waiting for a merge partner
+
+        for (int j = 0; j < SIZE; j++) {
+            int exponent = (row >>> (4 * j)) & 0xF;
+            if (exponent == 0)
+                continue;
+
+            // tiles can only merge once per turn, and a full nibble cannot grow any further
+            if (exponent == pending && exponent < MAX_EXPONENT) {
+                result |= (exponent + 1) << (4 * target++);
+                pending = 0;
+            }
+            else {
+                if (pending != 0)
+                    result |= pending << (4 * target++);
+                pending = exponent;
+            }
+        }
+        if (pending != 0)
+            result |= pending << (4 * target);
+        return result;
+    }
+
+    // returns the score gained by sliding a 16-bit row towards column 0 (used to build the row tables)
+    public static int rowScore(int row) {
+        int gained = 0;
+        int pending = 0;
+
+        for (int j = 0; j < SIZE; j++) {
+            int exponent = (row >>> (4 * j)) & 0xF;
+            if (exponent == 0)
+                continue;
+
+            if (exponent == pending && exponent < MAX_EXPONENT) {
+                gained += 1 << (exponent + 1);
+                pending = 0;
+            }
+            else
+                pending = exponent;
+        }
+        return gained;
+    }
+}
@@ -0,0 +1,116 @@
+// BoardSymmetry Class: the 8 rotations and reflections of a packed 2048 board, done with bit operations
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// a symmetry is numbered 0-7: bit 2 transposes the board, then bit 0 mirrors the columns and
+// bit 1 mirrors the rows; every board and its 7 transforms play identically, so searches can key
+// their caches on the smallest of the 8 (the canonical board)
+
+public final class BoardSymmetry {
+    public static final int COUNT = 8;              // number of symmetries of a square
+
+    private static final int MIRROR_COLUMNS = 1;
+    private static final int MIRROR_ROWS = 2;
+    private static final int TRANSPOSE = 4;
+
+    private static final long ROW_BYTES = 0x00FF00FF00FF00FFL;  // low byte of every row
+    private static final long LOW_NIBBLES = 0x0F0F0F0F0F0F0F0FL; // low nibble of every byte
+
+    private BoardSymmetry() {}
+
+    // applies a symmetry to a packed board
+    public static long apply(long board, int symmetry) {
+        if ((symmetry & TRANSPOSE) != 0)
+            board = BitBoardEngine.transpose(board);
+        if ((symmetry & MIRROR_COLUMNS) != 0)
+            board = mirrorColumns(board);
+        if ((symmetry & MIRROR_ROWS) != 0)
+            board = mirrorRows(board);
+        return board;
+    }
+
+    // reverses the order of the cells within every row
+    public static long mirrorColumns(long board) {
+        board = ((board & ROW_BYTES) << 8) | ((board >>> 8) & ROW_BYTES);
+        return ((board & LOW_NIBBLES) << 4) | ((board >>> 4) & LOW_NIBBLES);
+    }
+
+    // reverses the order of the rows
+    public static long mirrorRows(long board) {
+        board = Long.reverseBytes(board);
+        return ((board & ROW_BYTES) << 8) | ((board >>> 8) & ROW_BYTES);
+    }
+
+    // returns the symmetry that takes a board to its canonical form
+    public static int canonicalSymmetry(long board) {
+        int best = 0;
+        long min = board;
+        for (int symmetry = 1; symmetry < COUNT; symmetry++) {
+            long form = apply(board, symmetry);
+            if (form < min) {
+                min = form;
+                best = symmetry;
+            }
+        }
+        return best;
+    }
+
+    // returns the canonical form of a board: the smallest of its 8 transforms
+    public static long canonical(long board) {
+        long transposed = BitBoardEngine.transpose(board);
+        long mirrored = mirrorColumns(board);
+        long mirroredTransposed = mirrorColumns(transposed);
+
+        long min = Math.min(board, mirrored);
+        min = Math.min(min, Math.min(mirrorRows(board), mirrorRows(mirrored)));
+        min = Math.min(min, Math.min(transposed, mirroredTransposed));
+        return Math.min(min, Math.min(mirrorRows(transposed), mirrorRows(mirroredTransposed)));
+    }
+
+    // maps a direction on a board to the same move on the board transformed by a symmetry
+    public static Direction toTransformed(Direction direction, int symmetry) {
+        if ((symmetry & TRANSPOSE) != 0)
+            direction = transpose(direction);
+        if ((symmetry & MIRROR_COLUMNS) != 0)
+            direction = mirrorColumns(direction);
+        if ((symmetry & MIRROR_ROWS) != 0)
+            direction = mirrorRows(direction);
+        return direction;
+    }
+
+    // maps a direction on a transformed board back to the same move on the original board
+    public static Direction fromTransformed(Direction direction, int symmetry) {
+        if ((symmetry & MIRROR_ROWS) != 0)
+            direction = mirrorRows(direction);
+        if ((symmetry & MIRROR_COLUMNS) != 0)
+            direction = mirrorColumns(direction);
+        if ((symmetry & TRANSPOSE) != 0)
+            direction = transpose(direction);
+        return direction;
+    }
+
+    private static Direction transpose(Direction direction) {
+        return switch (direction) {
+            case UP -> Direction.LEFT;
+            case LEFT -> Direction.UP;
+            case DOWN -> Direction.RIGHT;
+            case RIGHT -> Direction.DOWN;
+        };
+    }
+
+    private static Direction mirrorColumns(Direction direction) {
+        return switch (direction) {
+            case LEFT -> Direction.RIGHT;
+            case RIGHT -> Direction.LEFT;
+            default -> direction;
+        };
+    }
+
+    private static Direction mirrorRows(Direction direction) {
+        return switch (direction) {
+            case UP -> Direction.DOWN;
+            case DOWN -> Direction.UP;
+            default -> direction;
+        };
+    }
+}
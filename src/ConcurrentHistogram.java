@@ -0,0 +1,56 @@
+// ConcurrentHistogram Class: a log-linear histogram of non-negative values that any thread can record into without locking
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// values are bucketed by LogLinearBuckets, so a percentile is accurate to within about 1.6%;
+// values past Integer.MAX_VALUE share the last bucket
+// the buckets are atomic counters, so recording never blocks and readers see a consistent enough view
+// of a histogram still being written to
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class ConcurrentHistogram {
+    private final AtomicLongArray counts = new AtomicLongArray(LogLinearBuckets.COUNT);  // values by bucket
+    private final AtomicLong count = new AtomicLong();  // values recorded
+    private final AtomicLong total = new AtomicLong();  // sum of the values recorded
+    private final AtomicLong max = new AtomicLong();    // largest value recorded
+
+    // records a value, clamping negative values to 0
+    public void record(long value) {
+        value = Math.max(0, value);
+        this.counts.incrementAndGet(LogLinearBuckets.bucket((int) Math.min(value, Integer.MAX_VALUE)));
+        this.count.incrementAndGet();
+        this.total.addAndGet(value);
+        this.max.accumulateAndGet(value, Math::max);
+    }
+
+    // returns the number of values recorded
+    public long getCount() {
+        return this.count.get();
+    }
+
+    // returns the largest value recorded, 0 if none
+    public long getMax() {
+        return this.max.get();
+    }
+
+    // returns the mean of the values recorded, 0 if none
+    public double mean() {
+        long count = this.count.get();
+        return count == 0 ? 0 : (double) this.total.get() / count;
+    }
+
+    // returns the value below which the given fraction of values fall (the lower edge of its bucket), 0 if none
+    public long percentile(double fraction) {
+        long rank = Math.max(1, (long) Math.ceil(fraction * this.count.get()));
+        long seen = 0;
+        for (int k = 0; k < this.counts.length(); k++) {
+            long bucketCount = this.counts.get(k);
+            seen += bucketCount;
+            if (seen >= rank && bucketCount != 0)
+                return LogLinearBuckets.lowerBound(k);
+        }
+        return this.max.get();
+    }
+}
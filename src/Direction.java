@@ -0,0 +1,21 @@
+// Direction Enum: the four directions the tiles of a 2048 grid can be moved in
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+public enum Direction {
+    UP,
+    DOWN,
+    LEFT,
+    RIGHT;
+
+    public static final int COUNT = 4;         // number of directions
+
+    // shared copy of values(), which allocates a new array on every call; kept private so no
+    // caller can write to it
+    private static final Direction[] ALL = values();
+
+    // returns the direction with the given ordinal
+    public static Direction of(int ordinal) {
+        return ALL[ordinal];
+    }
+}
@@ -0,0 +1,166 @@
+// EngineMetrics Class: counts what engines do, for monitoring long running games and simulations through JMX
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// an engine only counts once metrics are attached to it with BitBoardEngine.setMetrics(), and
+// copies of an engine start without them, so searches and rollouts played on copies are not counted
+// every counter is a LongAdder, which stripes its updates across cells, so engines on many threads
+// can count into the same metrics without contending
+// the global instance is registered with the platform MBean server as game:type=EngineMetrics
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public class EngineMetrics implements EngineMetricsMBean {
+    public static final String OBJECT_NAME = "game:type=EngineMetrics";
+
+    private static final long RATE_INTERVAL = 1_000_000_000L;  // shortest interval moves per second is measured over
+
+    // merges made by sliding each row towards column 0: the exponents of the up to two tiles the merges
+    // make, one per byte; a row merges the same tiles whichever way it slides, since merges pair up runs of equal tiles
+    private static final char[] ROW_MERGES = new char[65536];
+
+    static {
+        for (int row = 0; row < ROW_MERGES.length; row++)
+            ROW_MERGES[row] = rowMerges(row);
+    }
+
+    private final LongAdder movesApplied = new LongAdder();
+    private final LongAdder illegalMoves = new LongAdder();
+    private final LongAdder spawns = new LongAdder();
+    private final LongAdder[] merges = new LongAdder[BitBoardEngine.MAX_EXPONENT + 1];
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesFinished = new LongAdder();
+
+    // moves per second, measured when read
+    private long rateTime;              // System.nanoTime() of the start of the current interval
+    private long rateMoves;             // moves applied at the start of the current interval
+    private double movesPerSecond;      // rate over the most recent complete interval
+
+    // base constructor
+    public EngineMetrics() {
+        for (int k = 0; k < this.merges.length; k++)
+            this.merges[k] = new LongAdder();
+        this.rateTime = System.nanoTime();
+    }
+
+    // returns the metrics shared by every game of this process, registered with the platform MBean server
+    public static EngineMetrics global() {
+        return Global.INSTANCE;
+    }
+
+    // counts a turn that moved tiles, given the board before it with the rows laid out along the move
+    // (the board itself for left and right, its transpose for up and down)
+    public void moveApplied(long rows) {
+        this.movesApplied.increment();
+        for (int k = 0; k < BitBoardEngine.SIZE; k++, rows >>>= 16) {
+            char merged = ROW_MERGES[(int) (rows & 0xFFFF)];
+            if (merged != 0) {
+                this.merges[merged & 0xFF].increment();
+                if (merged >>> 8 != 0)
+                    this.merges[merged >>> 8].increment();
+            }
+        }
+    }
+
+    // counts a turn that moved nothing
+    public void illegalMove() {
+        this.illegalMoves.increment();
+    }
+
+    // counts a random spawn
+    public void spawned() {
+        this.spawns.increment();
+    }
+
+    // counts a new game
+    public void gameStarted() {
+        this.gamesStarted.increment();
+    }
+
+    // counts a game that ran out of moves
+    public void gameFinished() {
+        this.gamesFinished.increment();
+    }
+
+    public long getMovesApplied() {
+        return this.movesApplied.sum();
+    }
+
+    public long getIllegalMoves() {
+        return this.illegalMoves.sum();
+    }
+
+    public long getSpawns() {
+        return this.spawns.sum();
+    }
+
+    public long[] getMergesByExponent() {
+        long[] merges = new long[this.merges.length];
+        for (int k = 0; k < merges.length; k++)
+            merges[k] = this.merges[k].sum();
+        return merges;
+    }
+
+    public long getMerges() {
+        long total = 0;
+        for (LongAdder merges : this.merges)
+            total += merges.sum();
+        return total;
+    }
+
+    public long getGamesStarted() {
+        return this.gamesStarted.sum();
+    }
+
+    public long getGamesFinished() {
+        return this.gamesFinished.sum();
+    }
+
+    public synchronized double getMovesPerSecond() {
+        long now = System.nanoTime();
+        if (now - this.rateTime >= RATE_INTERVAL) {
+            long moves = this.movesApplied.sum();
+            this.movesPerSecond = (moves - this.rateMoves) * 1e9 / (now - this.rateTime);
+            this.rateTime = now;
+            this.rateMoves = moves;
+        }
+        return this.movesPerSecond;
+    }
+
+    // returns the exponents of the tiles made by merges when sliding a row towards column 0, following BitBoardEngine.slideRowLeft()
+    private static char rowMerges(int row) {
+        int merged = 0;
+        int count = 0;
+        int pending = 0;    // exponent waiting for a merge partner
+
+        for (int j = 0; j < BitBoardEngine.SIZE; j++) {
+            int exponent = (row >>> (4 * j)) & 0xF;
+            if (exponent == 0)
+                continue;
+
+            if (exponent == pending && exponent < BitBoardEngine.MAX_EXPONENT) {
+                merged |= (exponent + 1) << (8 * count++);
+                pending = 0;
+            }
+            else
+                pending = exponent;
+        }
+        return (char) merged;
+    }
+
+    // the global metrics, created and registered when first used
+    private static final class Global {
+        private static final EngineMetrics INSTANCE = new EngineMetrics();
+
+        static {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
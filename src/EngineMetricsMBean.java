@@ -0,0 +1,30 @@
+// EngineMetricsMBean Interface: the engine counters and gauges published through JMX
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+public interface EngineMetricsMBean {
+    // turns that moved at least one tile
+    long getMovesApplied();
+
+    // turns that moved nothing
+    long getIllegalMoves();
+
+    // random tiles spawned
+    long getSpawns();
+
+    // merges by the exponent of the tile they make: index 2 counts two 2 tiles merging into a 4,
+    // index 11 counts merges making a 2048; indices 0 and 1 are always 0
+    long[] getMergesByExponent();
+
+    // merges of every tile value
+    long getMerges();
+
+    // games started by a reset of the board
+    long getGamesStarted();
+
+    // games that reached a board with no move left
+    long getGamesFinished();
+
+    // turns applied per second, over the most recent interval of at least a second
+    double getMovesPerSecond();
+}
@@ -0,0 +1,329 @@
+// ExpectimaxSolver Class: picks the best direction for a 2048 board with an expectimax search
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// max nodes try every direction, chance nodes average over every spawn the engine could make
+// (a 2 or a 4 with equal odds on any empty cell), and leaves are scored by a row heuristic
+// looked up from a table built once at class load
+
+// with a parallelism above 1 the search runs on its own ForkJoinPool: the root directions and
+// every chance node likely and deep enough to be worth a task are split into forked subtasks,
+// and idle workers steal them; all workers share the lock-free transposition table
+
+// both caches key positions on their canonical form under the 8 board symmetries, since moves and
+// the heuristic treat all 8 alike
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+public class ExpectimaxSolver implements Strategy {
+    public static final int DEFAULT_DEPTH = 3;          // chance levels searched below the root
+    public static final int DEFAULT_TABLE_BITS = 20;    // 2^20 cached evaluations (16 MB)
+    public static final int DEFAULT_MOVE_CACHE_BITS = 16;   // 2^16 cached best moves (576 KB)
+
+    private static final float SPAWN_TWO_PROBABILITY = 0.5f;    // matches BitBoardEngine.spawn
+    private static final float PROBABILITY_CUTOFF = 0.0001f;    // branches less likely than this are not expanded
+    private static final float SPLIT_CUTOFF = 0.01f;            // chance nodes less likely than this run in one task
+    private static final int SPLIT_MIN_DEPTH = 2;               // shallower chance nodes run in one task
+
+    // heuristic weights
+    private static final float LOST_PENALTY = 200000f;
+    private static final float MONOTONICITY_POWER = 4f;
+    private static final float MONOTONICITY_WEIGHT = 47f;
+    private static final float SUM_POWER = 3.5f;
+    private static final float SUM_WEIGHT = 11f;
+    private static final float MERGES_WEIGHT = 700f;
+    private static final float EMPTY_WEIGHT = 270f;
+
+    private static final float[] ROW_HEURISTIC = new float[1 << 16];   // heuristic of every 16-bit row
+
+    static {
+        for (int row = 0; row < (1 << 16); row++)
+            ROW_HEURISTIC[row] = rowHeuristic(row);
+    }
+
+    private final int depth;                        // configured search depth
+    private final TranspositionTable table;         // cached chance node values
+    private final BestMoveCache moves;              // cached root decisions
+    private final ForkJoinPool pool;                // workers of a parallel search, null if single-threaded
+
+    // base constructor
+    public ExpectimaxSolver() {
+        this(DEFAULT_DEPTH, DEFAULT_TABLE_BITS);
+    }
+
+    // constructor with a search depth and a table of 2^tableBits entries, searching on the calling thread
+    public ExpectimaxSolver(int depth, int tableBits) {
+        this(depth, tableBits, 1);
+    }
+
+    // constructor with a search depth, a table of 2^tableBits entries and the number of search threads
+    public ExpectimaxSolver(int depth, int tableBits, int parallelism) {
+        if (depth < 1)
+            throw new IllegalArgumentException("search depth must be positive: " + depth);
+        if (parallelism < 1)
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        this.depth = depth;
+        this.table = new TranspositionTable(tableBits);
+        this.moves = new BestMoveCache(DEFAULT_MOVE_CACHE_BITS);
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+    }
+
+    // returns the configured search depth
+    public int getDepth() {
+        return this.depth;
+    }
+
+    // returns the number of threads searching
+    public int getParallelism() {
+        return this.pool == null ? 1 : this.pool.getParallelism();
+    }
+
+    // forgets every cached evaluation and decision
+    public void clear() {
+        this.table.clear();
+        this.moves.clear();
+    }
+
+    // stops the search threads of a parallel solver
+    public void shutdown() {
+        if (this.pool != null)
+            this.pool.shutdown();
+    }
+
+    // returns the best direction for a packed board, or null if no direction moves any tile
+    public Direction bestMove(long board) {
+        Direction best = this.moves.get(board);
+        if (best == null) {
+            best = this.pool != null ? this.pool.invoke(new RootTask(board)) : this.search(board);
+            if (best != null)
+                this.moves.put(board, best);
+        }
+        return best;
+    }
+
+    // searches every direction of the root board on the calling thread
+    private Direction search(long board) {
+        Direction best = null;
+        float bestValue = Float.NEGATIVE_INFINITY;
+
+        for (int k = 0; k < Direction.COUNT; k++) {
+            Direction direction = Direction.of(k);
+            long moved = BitBoardEngine.move(board, direction);
+            if (moved == board)
+                continue;
+
+            float value = this.chance(moved, this.depth, 1f);
+            if (value > bestValue) {
+                bestValue = value;
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    // best value over every direction that moves a tile
+    float max(long board, int depth, float probability) {
+        float best = 0;
+        for (int k = 0; k < Direction.COUNT; k++) {
+            Direction direction = Direction.of(k);
+            long moved = BitBoardEngine.move(board, direction);
+            if (moved != board)
+                best = Math.max(best, this.chance(moved, depth, probability));
+        }
+        return best;
+    }
+
+    // average value over every spawn the engine could make on the board
+    float chance(long board, int depth, float probability) {
+        if (depth == 0 || probability < PROBABILITY_CUTOFF)
+            return evaluate(board);
+
+        long key = BoardSymmetry.canonical(board);
+        float cached = this.table.get(key, depth);
+        if (!Float.isNaN(cached))
+            return cached;
+
+        long empty = BitBoardEngine.emptyCells(board);
+        int count = Long.bitCount(empty);
+        float spawnProbability = probability / count;
+
+        float total = 0;
+        for (long free = empty; free != 0; free &= free - 1) {
+            long cell = Long.lowestOneBit(free);
+            total += SPAWN_TWO_PROBABILITY * this.max(board | cell, depth - 1, spawnProbability * SPAWN_TWO_PROBABILITY);
+            total += (1 - SPAWN_TWO_PROBABILITY) * this.max(board | (cell << 1), depth - 1, spawnProbability * (1 - SPAWN_TWO_PROBABILITY));
+        }
+        float value = total / count;
+
+        this.table.put(key, depth, value);
+        return value;
+    }
+
+    // average value over every spawn, forking a task per spawn while the node is likely and deep enough
+    float chanceParallel(long board, int depth, float probability) {
+        if (depth < SPLIT_MIN_DEPTH || probability < SPLIT_CUTOFF)
+            return this.chance(board, depth, probability);
+
+        long key = BoardSymmetry.canonical(board);
+        float cached = this.table.get(key, depth);
+        if (!Float.isNaN(cached))
+            return cached;
+
+        long empty = BitBoardEngine.emptyCells(board);
+        int count = Long.bitCount(empty);
+        float spawnProbability = probability / count;
+
+        SpawnTask[] tasks = new SpawnTask[2 * count];
+        int n = 0;
+        for (long free = empty; free != 0; free &= free - 1) {
+            long cell = Long.lowestOneBit(free);
+            tasks[n++] = new SpawnTask(board | cell, depth - 1, spawnProbability * SPAWN_TWO_PROBABILITY);
+            tasks[n++] = new SpawnTask(board | (cell << 1), depth - 1, spawnProbability * (1 - SPAWN_TWO_PROBABILITY));
+        }
+        ForkJoinTask.invokeAll(tasks);
+
+        float total = 0;
+        for (int k = 0; k < n; k += 2)
+            total += SPAWN_TWO_PROBABILITY * tasks[k].value + (1 - SPAWN_TWO_PROBABILITY) * tasks[k + 1].value;
+        float value = total / count;
+
+        this.table.put(key, depth, value);
+        return value;
+    }
+
+    // searches every direction of the root board in its own task
+    @SuppressWarnings("serial")
+    private final class RootTask extends RecursiveTask<Direction> {
+        private final long board;
+
+        RootTask(long board) {
+            this.board = board;
+        }
+
+        protected Direction compute() {
+            DirectionTask[] tasks = new DirectionTask[Direction.COUNT];
+            int n = 0;
+            for (int k = 0; k < Direction.COUNT; k++) {
+                Direction direction = Direction.of(k);
+                long moved = BitBoardEngine.move(this.board, direction);
+                if (moved != this.board)
+                    tasks[n++] = new DirectionTask(direction, moved);
+            }
+            for (int k = 0; k < n; k++)
+                tasks[k].fork();
+
+            Direction best = null;
+            float bestValue = Float.NEGATIVE_INFINITY;
+            for (int k = 0; k < n; k++) {
+                tasks[k].join();
+                if (tasks[k].value > bestValue) {
+                    bestValue = tasks[k].value;
+                    best = tasks[k].direction;
+                }
+            }
+            return best;
+        }
+    }
+
+    // values the chance node reached by moving the root in one direction
+    @SuppressWarnings("serial")
+    private final class DirectionTask extends RecursiveAction {
+        private final Direction direction;
+        private final long board;
+        private float value;
+
+        DirectionTask(Direction direction, long board) {
+            this.direction = direction;
+            this.board = board;
+        }
+
+        protected void compute() {
+            this.value = chanceParallel(this.board, depth, 1f);
+        }
+    }
+
+    // values the max node reached by one spawn of a split chance node
+    @SuppressWarnings("serial")
+    private final class SpawnTask extends RecursiveAction {
+        private final long board;
+        private final int depth;
+        private final float probability;
+        private float value;
+
+        SpawnTask(long board, int depth, float probability) {
+            this.board = board;
+            this.depth = depth;
+            this.probability = probability;
+        }
+
+        protected void compute() {
+            float best = 0;
+            for (int k = 0; k < Direction.COUNT; k++) {
+                Direction direction = Direction.of(k);
+                long moved = BitBoardEngine.move(this.board, direction);
+                if (moved != this.board)
+                    best = Math.max(best, chanceParallel(moved, this.depth, this.probability));
+            }
+            this.value = best;
+        }
+    }
+
+    // scores a packed board by its rows and its columns
+    public static float evaluate(long board) {
+        long transposed = BitBoardEngine.transpose(board);
+        float value = 0;
+        for (int shift = 0; shift < 64; shift += 16) {
+            value += ROW_HEURISTIC[(int) ((board >>> shift) & 0xFFFF)];
+            value += ROW_HEURISTIC[(int) ((transposed >>> shift) & 0xFFFF)];
+        }
+        return value;
+    }
+
+    // scores a single row: rewards empty cells, merge chances and monotonic order, penalizes large scattered tiles
+    private static float rowHeuristic(int row) {
+        int[] cells = new int[BitBoardEngine.SIZE];
+        for (int j = 0; j < BitBoardEngine.SIZE; j++)
+            cells[j] = (row >>> (4 * j)) & 0xF;
+
+        float sum = 0;
+        int empty = 0;
+        int merges = 0;
+        int previous = 0;
+        int counter = 0;
+        for (int cell : cells) {
+            sum += (float) Math.pow(cell, SUM_POWER);
+            if (cell == 0) {
+                empty++;
+                continue;
+            }
+            // tiles of MAX_EXPONENT cannot merge
+            if (previous == cell && cell < BitBoardEngine.MAX_EXPONENT)
+                counter++;
+            else if (counter > 0) {
+                merges += 1 + counter;
+                counter = 0;
+            }
+            previous = cell;
+        }
+        if (counter > 0)
+            merges += 1 + counter;
+
+        float monotonicLeft = 0;
+        float monotonicRight = 0;
+        for (int j = 1; j < BitBoardEngine.SIZE; j++) {
+            float a = (float) Math.pow(cells[j - 1], MONOTONICITY_POWER);
+            float b = (float) Math.pow(cells[j], MONOTONICITY_POWER);
+            if (cells[j - 1] > cells[j])
+                monotonicLeft += a - b;
+            else
+                monotonicRight += b - a;
+        }
+
+        return LOST_PENALTY + EMPTY_WEIGHT * empty + MERGES_WEIGHT * merges
+                - MONOTONICITY_WEIGHT * Math.min(monotonicLeft, monotonicRight)
+                - SUM_WEIGHT * sum;
+    }
+}
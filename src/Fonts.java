@@ -0,0 +1,75 @@
+// Fonts Class: loads the game fonts once and caches every size the interface paints with
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// the fonts are read, registered and derived when the cache is built, so painting a frame only
+// looks up finished fonts and their metrics
+// if a font file cannot be read, the logical sans serif font is used in its place
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Path;
+
+public class Fonts {
+    // cached fonts
+    public static final int LABEL = 0;      // score and best headers
+    public static final int SCORE = 1;      // score and best values
+    public static final int BUTTON = 2;     // button labels and the how to play header
+    public static final int BODY = 3;       // how to play text
+    public static final int TILE = 4;       // tile values
+    public static final int OVERLAY = 5;    // game over and win messages
+    public static final int TITLE = 6;      // title
+
+    private static final float[] SIZES = {13f, 25f, 18f, 17f, 40f, 60f, 80f};
+    private static final boolean[] REGULAR = {false, false, false, true, false, false, false};
+
+    private final Font[] fonts;             // fonts by index
+    private final FontMetrics[] metrics;    // metrics of each font
+
+    // base constructor, reading the fonts from the working directory
+    public Fonts() {
+        this(Path.of("ClearSans-Bold.ttf"), Path.of("ClearSans-Regular.ttf"));
+    }
+
+    // constructor with the bold and regular font files
+    public Fonts(Path bold, Path regular) {
+        Font boldFont = Fonts.load(bold, Font.BOLD);
+        Font regularFont = Fonts.load(regular, Font.PLAIN);
+
+        // measure with the antialiased text the interface paints
+        BufferedImage scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scratch.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        this.fonts = new Font[SIZES.length];
+        this.metrics = new FontMetrics[SIZES.length];
+        for (int i = 0; i < SIZES.length; i++) {
+            this.fonts[i] = (REGULAR[i] ? regularFont : boldFont).deriveFont(SIZES[i]);
+            this.metrics[i] = graphics.getFontMetrics(this.fonts[i]);
+        }
+        graphics.dispose();
+    }
+
+    // font getter
+    public Font get(int font) {
+        return this.fonts[font];
+    }
+
+    // font metrics getter
+    public FontMetrics getMetrics(int font) {
+        return this.metrics[font];
+    }
+
+    // reads and registers a true type font, or returns the logical font of the same style if it cannot be read
+    private static Font load(Path path, int style) {
+        try {
+            Font font = Font.createFont(Font.TRUETYPE_FONT, path.toFile());
+            GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
+            return font;
+        } catch (IOException | FontFormatException e) {
+            e.printStackTrace();
+            return new Font(Font.SANS_SERIF, style, 1);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+// FrameStats Class: measures how long frames take to paint and how evenly animation frames arrive
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// every paint records its duration and that of the grid within it; paints during an animation also
+// record the interval since the previous one, and an interval spanning several timer periods counts
+// the frames in between as dropped; when an animation ends the frames it painted are recorded
+// all times are System.nanoTime() nanoseconds
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class FrameStats {
+    private final long period;          // nanoseconds between the frames the animation timer asks for
+    private final ConcurrentHistogram paintTimes = new ConcurrentHistogram();      // whole frame paints
+    private final ConcurrentHistogram gridTimes = new ConcurrentHistogram();       // grid paints
+    private final ConcurrentHistogram intervals = new ConcurrentHistogram();       // time between animation frames
+    private final ConcurrentHistogram animationFrames = new ConcurrentHistogram(); // frames painted per animation
+    private final AtomicLong droppedFrames = new AtomicLong();  // animation frames the timer asked for but never painted
+
+    // touched by the painting thread only
+    private long lastFrame;             // start of the previous animation frame, 0 if none yet
+    private int frames;                 // frames painted in the current animation
+
+    // constructor with the nanoseconds between animation timer ticks
+    public FrameStats(long period) {
+        this.period = period;
+    }
+
+    // marks the start of a paint at the given time, recording its interval if the frame is part of an animation
+    public void frameStarted(long now, boolean animating) {
+        if (!animating)
+            return;
+        if (this.lastFrame != 0) {
+            long interval = now - this.lastFrame;
+            this.intervals.record(interval);
+            this.droppedFrames.addAndGet(Math.max(0, Math.round((double) interval / this.period) - 1));
+        }
+        this.lastFrame = now;
+        this.frames++;
+    }
+
+    // records the time taken to paint the grid
+    public void gridPainted(long nanos) {
+        this.gridTimes.record(nanos);
+    }
+
+    // records the time taken to paint a whole frame
+    public void framePainted(long nanos) {
+        this.paintTimes.record(nanos);
+    }
+
+    // records the frames painted by the animation that just ended
+    public void animationEnded() {
+        if (this.frames != 0)
+            this.animationFrames.record(this.frames);
+        this.frames = 0;
+        this.lastFrame = 0;
+    }
+
+    // returns the statistics as lines of text, for the overlay and the summary
+    public List<String> lines() {
+        List<String> lines = new ArrayList<>();
+        lines.add("ms p50 / p99 / max");
+        lines.add(FrameStats.timeLine("paint", this.paintTimes));
+        lines.add(FrameStats.timeLine("grid", this.gridTimes));
+        lines.add(FrameStats.timeLine("interval", this.intervals));
+        lines.add(String.format("frames/anim %d / %d / %d", this.animationFrames.percentile(0.5),
+                this.animationFrames.percentile(0.99), this.animationFrames.getMax()));
+        lines.add(String.format("dropped %d of %d", this.droppedFrames.get(), this.droppedFrames.get() + this.intervals.getCount()));
+        return lines;
+    }
+
+    // writes a human readable summary
+    public String summary() {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("frames: %d painted, %d animations%n", this.paintTimes.getCount(), this.animationFrames.getCount()));
+        for (String line : this.lines())
+            text.append(line).append(System.lineSeparator());
+        return text.toString();
+    }
+
+    // formats the p50, p99 and max of a histogram of nanoseconds in milliseconds
+    private static String timeLine(String name, ConcurrentHistogram histogram) {
+        return String.format("%s %.1f / %.1f / %.1f", name, histogram.percentile(0.5) / 1e6,
+                histogram.percentile(0.99) / 1e6, histogram.getMax() / 1e6);
+    }
+}
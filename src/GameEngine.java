@@ -0,0 +1,73 @@
+// GameEngine Interface: the rules and state of a game of 2048, free of any AWT or Swing dependency
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// boards are exchanged in the packed form used by BitBoardEngine: one 4-bit log2 exponent per cell,
+// cell (row, col) at bit offset 4 * (4 * row + col)
+
+public interface GameEngine {
+    // resets the board, as though a new game began
+    void reset();
+
+    // resets the board and restarts the random stream from a seed, so the new game can be replayed
+    void reset(long seed);
+
+    // restarts the random stream from a seed, leaving the board and score as they are
+    void reseed(long seed);
+
+    // slides all tiles in the given direction; returns the outcome encoded by MoveResult
+    long turn(Direction direction);
+
+    // places a 2 or a 4 on a random empty cell; returns false if the board is full
+    boolean spawn();
+
+    // places a tile of exponent 1 or 2 on an empty cell (numbered 4 * row + col), as a spawn would;
+    // throws IllegalArgumentException, changing nothing, for any other exponent or cell
+    void place(int cell, int exponent);
+
+    // replaces the board and score, as when resuming a game
+    void load(long board, int score);
+
+    // returns the packed board
+    long getBoard();
+
+    // returns the current score
+    int getScore();
+
+    // returns the exponent of the cell at the given row and column
+    int getExponent(int row, int col);
+
+    // returns the tile value of the cell at the given row and column (0 if empty)
+    int getValue(int row, int col);
+
+    // checks for empty spaces in the board
+    boolean hasEmpty();
+
+    // returns the number of empty cells
+    int getEmptyCount();
+
+    // checks for two adjacent cells holding the same value
+    boolean hasMerge();
+
+    // checks if a tile of 2048 or more is on the board
+    boolean gameWon();
+
+    // checks if no move is possible
+    boolean gameOver();
+
+    // returns the largest exponent on the board
+    int getMaxExponent();
+
+    // returns a counter that changes whenever the game over, win or largest tile status changes
+    int getStatusVersion();
+
+    // counts everything the engine does from now on in the given metrics, or stops counting if null
+    void setMetrics(EngineMetrics metrics);
+
+    // returns the metrics counting the engine, null if none
+    EngineMetrics getMetrics();
+
+    // returns an independent engine with the same board and score, and its own random stream,
+    // not counted by the metrics of this one
+    GameEngine copy();
+}
@@ -0,0 +1,36 @@
+// GreedyStrategy Class: a player that picks the direction gaining the most score
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// the move helper is shared with the greedy rollouts of MonteCarloPlayer
+
+import java.util.SplittableRandom;
+
+public class GreedyStrategy implements Strategy {
+    private final SplittableRandom random;  // source of the directions played when nothing merges
+
+    // constructor with the seed of the directions played when nothing merges
+    public GreedyStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // returns the direction gaining the most score on a packed board, or null if no direction moves any tile
+    public Direction bestMove(long board) {
+        return GreedyStrategy.move(board, this.random);
+    }
+
+    // returns the direction gaining the most score, picking a random legal direction when nothing merges
+    public static Direction move(long board, SplittableRandom random) {
+        Direction best = null;
+        int bestScore = 0;
+        for (int k = 0; k < Direction.COUNT; k++) {
+            Direction direction = Direction.of(k);
+            int gained = BitBoardEngine.moveScore(board, direction);
+            if (gained > bestScore) {
+                bestScore = gained;
+                best = direction;
+            }
+        }
+        return best != null ? best : RandomStrategy.move(board, random);
+    }
+}
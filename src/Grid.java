@@ -1,19 +1,31 @@
-import java.awt.*;
-import java.awt.Graphics;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
 
 public class Grid {
-    public static final int SIZE = 4;   // dimensions of playing grid
-    private final Tile[][] grid;        // playing grid consisting of tiles
+    public static final int SIZE = BitBoardEngine.SIZE;   // dimensions of playing grid
+    private final GameEngine engine;                      // packed game state and rules
+    private final Tile[][] grid;        // tiles mirroring the engine board, used for painting
+    private History history;            // snapshots of every turn, for undo and redo
+    private ReplayRecorder recorder;    // moves and spawns of the current game
+    private final SplittableRandom seeds;   // seeds of every new game, so each one can be replayed
+    private final Animation animation;      // tile motions of the most recent turn, for painting
+    private Direction pending;          // direction of a turn awaiting its spawn
+    private Journal journal;            // autosave journal told about every change, null if none
 
-    private int score;                  // current player score
     private int highscore;              // player highest score
 
     private boolean won;                // true if the player has won (the game continue past this point)
+    private int changedCells;           // cells changed by the most recent turn and its spawn, bit 4 * row + col
 
     // base constructor
     public Grid() {
         // initialize variables
-        this.score = 0;
+        this.seeds = new SplittableRandom();
+        this.engine = new BitBoardEngine(this.seeds.nextLong());
+        this.recorder = new ReplayRecorder();
+        this.animation = new Animation();
         this.grid = new Tile[SIZE][SIZE];
         this.won = false;
 
@@ -23,14 +35,16 @@ public class Grid {
                 this.grid[i][j] = new Tile();
         }
 
-        // select two random tiles to give numbers to
-        this.generateTile();
-        this.generateTile();
+        // start the first game before attaching the metrics, since a loaded save may replace it;
+        // the game that gets played is counted when it is restarted
+        this.history = new History();
+        this.restart();
+        this.engine.setMetrics(EngineMetrics.global());
     }
 
     // returns the current score
     public int getScore() {
-        return this.score;
+        return this.engine.getScore();
     }
 
     // sets the high score
@@ -38,175 +52,227 @@ public class Grid {
         this.highscore = score;
     }
 
+    // retrieves the tile at the given row and column, for painting
+    public Tile getTile(int row, int col) {
+        return this.grid[row][col];
+    }
+
     public int getHighscore() {
         return this.highscore;
     }
 
     // resets the playing field, as though a new game began
     public void restart() {
-        // reset score
-        this.score = 0;
+        this.restart(this.seeds.nextLong());
+    }
 
-        // reset all tiles within the grid
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++)
-                this.grid[i][j].setVal(0);
+    // resets the playing field for a new game drawing its spawns from the given seed
+    public void restart(long seed) {
+        this.engine.reset(seed);
+        this.recorder.start(seed, this.engine.getBoard());
+        this.pending = null;
+        this.changedCells = 0;
+        this.animation.clear();
+        this.syncTiles();
+        this.history.reset(this.engine.getBoard(), this.engine.getScore());
+        if (this.journal != null)
+            this.journal.restart(seed);
+    }
+
+    // generates a random value (2 or 4) on a random tile if a tile is available, completing the turn
+    // waiting for its spawn; does nothing if no turn is waiting, as after an undo
+    public void generateTile() {
+        if (this.pending == null)
+            return;
+        long before = this.engine.getBoard();
+        if (this.engine.spawn()) {
+            int shift = Long.numberOfTrailingZeros(before ^ this.engine.getBoard()) & ~3;
+            this.completeTurn(shift >>> 2, (int) ((this.engine.getBoard() >>> shift) & 0xF));
         }
+    }
 
-        // select two random tiles to give numbers to
-        this.generateTile();
-        this.generateTile();
+    // places a tile of the given exponent on an empty cell (numbered 4 * row + col) instead of a random spawn;
+    // throws IllegalArgumentException, changing nothing, unless the cell is empty and the exponent is 1 or 2,
+    // and IllegalStateException if no turn is waiting for its spawn
+    public void placeTile(int cell, int exponent) {
+        if (this.pending == null)
+            throw new IllegalStateException("no turn is waiting for a spawn");
+        this.engine.place(cell, exponent);
+
+        // the engine skipped a random draw, so its seed no longer reproduces the game
+        this.recorder.diverge();
+        this.completeTurn(cell, exponent);
     }
 
-    // generates a random value (2 or 4) on a random tile if a tile is available
-    public void generateTile() {
-        // randomly generate coordinates and value
-        if (!this.hasEmpty())
+    // records a turn completed by a spawn on the given cell
+    private void completeTurn(int cell, int exponent) {
+        this.syncTiles();
+        this.history.push(this.engine.getBoard(), this.engine.getScore());
+        this.animation.spawn(cell);
+        this.recorder.record(this.pending, cell, exponent);
+        if (this.journal != null)
+            this.journal.turn(this.pending, cell, exponent);
+        this.pending = null;
+    }
+
+    // discards a turn still waiting for its spawn, returning to the state before it
+    public void cancelTurn() {
+        if (this.pending == null)
             return;
+        this.pending = null;
+        this.restoreSnapshot();
+    }
 
-        while (true) {
-            int x = (int) (Math.floor(Math.random() * SIZE));
-            int y = (int) (Math.floor(Math.random() * SIZE));
-            if (this.grid[x][y].getVal() == 0) {
-                int randval = (int)(Math.pow(2, (int)(Math.random() * 2 + 1))); // can either be 2 or 4
-                this.grid[x][y].setVal(randval);
-                return;
-            }
-        }
+    // counts everything the engine does from now on in the given metrics, or stops counting if null
+    public void setMetrics(EngineMetrics metrics) {
+        this.engine.setMetrics(metrics);
     }
 
-    // moves all tiles to their rightmost position on the grid
-    public void move(Tile[][] grid) {
-        // iterate over the grid
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = SIZE - 2; j >= 0; j--) {
-                // check if the element has a value
-                if (grid[i][j].getVal() != 0) {
-                    // check that next slot is not an edge
-                    if (j < SIZE - 1) {
-                        for (int k = j; k < SIZE - 1; k++) {
-                            // move
-                            if (grid[i][k + 1].getVal() == 0) {
-                                grid[i][k + 1].setVal(grid[i][k].getVal());
-                                grid[i][k].reset();
-                                grid[i][k + 1].setAction(true);
-                            }
-                            // merge
-                            else if (grid[i][k + 1].equals(grid[i][k]) && !grid[i][k + 1].getMerged() && !grid[i][k].getMerged()) {
-                                // merges and sets merge status of tiles to true
-                                // tiles can only merge once per turn
-                                grid[i][k + 1].merge(grid[i][k]);
-
-                                // increment score
-                                this.score += grid[i][k + 1].getVal();
-                                if (this.score > this.highscore)
-                                    this.highscore = this.score;
-                                grid[i][k].reset();
-
-                                grid[i][k + 1].setAction(true);
-                                break;
-                            }
-                            // cannot perform action
-                            else { break; }
-                        }
-                    }
-                }
-            }
-        }
+    // returns the metrics counting the engine, null if none
+    public EngineMetrics getMetrics() {
+        return this.engine.getMetrics();
     }
 
-    // sets up an appropriate grid to move
+    // attaches an autosave journal to be told about every turn, undo, redo and restart
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    // applies a move in the direction of the given key; unrecognised keys are ignored
     public void turn(String key) {
-        Tile[][] tileset = new Tile[SIZE][SIZE];
-
-        // copy all values of grid to tileset in an appropriate order to move
-        switch (key) {
-            case "RIGHT":
-                // move right; do nothing
-                for (int i = 0; i < SIZE; i++) {
-                    for (int j = 0; j < SIZE; j++)
-                        tileset[i][j] = this.grid[i][j];
-                }
-                break;
-            case "LEFT":
-                // move left; invert y axis
-                for (int i = 0; i < SIZE; i++) {
-                    for (int j = 0; j < SIZE; j++) {
-                        tileset[i][j] = this.grid[i][SIZE - 1 - j];
-                    }
-                }
-                break;
-            case "UP":
-                // move down; invert x axis
-                for (int i = 0; i < SIZE; i++) {
-                    for (int j = 0; j < SIZE; j++) {
-                        tileset[i][j] = this.grid[SIZE - 1 - j][i];
-                    }
-                }
-                break;
-            case "DOWN":
-                // move up; reflect across x = y axis
-                for (int i = 0; i < SIZE; i++) {
-                    for (int j = 0; j < SIZE; j++) {
-                        tileset[i][j] = this.grid[j][i];
-                    }
-                }
-                break;
+        Direction direction = switch (key) {
+            case "UP" -> Direction.UP;
+            case "DOWN" -> Direction.DOWN;
+            case "LEFT" -> Direction.LEFT;
+            case "RIGHT" -> Direction.RIGHT;
+            default -> null;
+        };
+        if (direction != null)
+            this.turn(direction);
+    }
+
+    // applies a move in the given direction; returns the outcome encoded by MoveResult
+    public long turn(Direction direction) {
+        long before = this.engine.getBoard();
+        long result = this.engine.turn(direction);
+
+        this.changedCells = 0;
+        if (MoveResult.moved(result)) {
+            this.pending = direction;
+            if (this.engine.getScore() > this.highscore)
+                this.highscore = this.engine.getScore();
+
+            // record where every tile went, for animation
+            this.animation.record(before, direction);
+            this.syncTiles();
         }
+        return result;
+    }
+
+    // returns to the state before the most recent turn; returns false if there is nothing to undo
+    // a turn still waiting for its spawn is discarded along with the board it moved, as by cancelTurn()
+    public boolean undo() {
+        if (!this.history.undo())
+            return false;
+        this.recorder.undo();
+        this.pending = null;
+        this.restoreSnapshot();
+        if (this.journal != null)
+            this.journal.undo();
+        return true;
+    }
+
+    // reapplies the most recently undone turn; returns false if there is nothing to redo
+    public boolean redo() {
+        if (!this.history.redo())
+            return false;
+        this.recorder.redo();
+        this.pending = null;
+        this.restoreSnapshot();
+        if (this.journal != null)
+            this.journal.redo();
+        return true;
+    }
+
+    // loads the current history snapshot into the engine and the tiles
+    private void restoreSnapshot() {
+        this.engine.load(this.history.board(), this.history.score());
+        this.changedCells = 0;
+        this.animation.clear();
+        this.syncTiles();
+    }
+
+    // writes the whole game state: high score, win state, board, score, history and recording
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(this.highscore);
+        out.writeBoolean(this.won);
+        out.writeLong(this.engine.getBoard());
+        out.writeInt(this.engine.getScore());
+        this.history.write(out);
+        this.recorder.write(out);
+    }
+
+    // restores a game state written by writeState(); a state that fails to read changes nothing
+    public void readState(DataInput in) throws IOException {
+        int highscore = in.readInt();
+        boolean won = in.readBoolean();
+        long board = in.readLong();
+        int score = in.readInt();
+        History history = new History(this.history.capacity());
+        history.read(in);
+        ReplayRecorder recorder = new ReplayRecorder();
+        recorder.read(in);
+
+        // the whole state has been read, so it replaces the game
+        this.history = history;
+        this.recorder = recorder;
+        this.highscore = highscore;
+        this.won = won;
+        this.engine.reseed(this.seeds.nextLong());
+        this.engine.load(board, score);
+        this.pending = null;
+        this.changedCells = 0;
+        this.animation.clear();
+        this.syncTiles();
+    }
+
+    // returns the tile motions of the most recent turn, cleared by a restart, undo, redo or load
+    public Animation getAnimation() {
+        return this.animation;
+    }
 
-        this.move(tileset);
+    // returns a replay log of the current game
+    public ReplayLog getReplay() {
+        return this.recorder.toLog(this.engine.getScore());
     }
 
-    // checks if an action was made in the most recent turn
-    public boolean turnMade() {
+    // copies the engine cells into the tiles that no longer match them, marking those cells changed
+    private void syncTiles() {
         for (int i = 0; i < SIZE; i++) {
             for (int j = 0; j < SIZE; j++) {
-                if (this.grid[i][j].getAction())
-                    return true;
+                int value = this.engine.getValue(i, j);
+                if (this.grid[i][j].getVal() != value) {
+                    this.grid[i][j].setVal(value);
+                    this.changedCells |= 1 << (SIZE * i + j);
+                }
             }
         }
-        return false;
     }
 
-    // resets the status of the tiles (merged and action are set to false)
-    public void resetTileStatus() {
-        for (Tile[] row : this.grid) {
-            for (Tile tile : row) {
-                tile.setMerged(false);
-                tile.setAction(false);
-            }
-        }
+    // returns the cells changed by the most recent turn and its spawn, or by the most recent restart,
+    // undo, redo or load, as a mask with bit 4 * row + col set for each changed cell
+    public int getChangedCells() {
+        return this.changedCells;
     }
 
     // checks for empty spaces in the grid; returns true if there is an empty space
     public boolean hasEmpty() {
-        for (Tile[] row : this.grid) {
-            for (Tile tile : row) {
-                if (tile.getVal() == 0)
-                    return true;
-            }
-        }
-        return false;
+        return this.engine.hasEmpty();
     }
 
     // checks for ability to merge two tiles in the grid; returns true if possible
     public boolean hasMerge() {
-        for (int i = 0; i < SIZE; i++) {
-            for (int j = 0; j < SIZE; j++) {
-                // check tile to the right
-                if (j < SIZE - 1) {
-                    if (this.grid[i][j].equals(this.grid[i][j + 1]))
-                        return true;
-                }
-
-                // check tile below
-                if (i < SIZE - 1) {
-                    if (this.grid[i][j].equals(this.grid[i + 1][j]))
-                        return true;
-                }
-            }
-        }
-        return false;
+        return this.engine.hasMerge();
     }
 
     // sets the win state of the current game
@@ -216,114 +282,16 @@ public class Grid {
 
     // checks if the player has won
     public boolean gameWon() {
-        if (!this.won) {
-            for (int i = 0; i < SIZE; i++) {
-                for (int j = 0; j < SIZE; j++) {
-                    if (this.grid[i][j].getVal() == 2048) {
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
+        return !this.won && this.engine.gameWon();
     }
 
     // checks if the player has lost
     public boolean gameOver() {
-        return !this.hasEmpty() && !this.hasMerge();
+        return this.engine.gameOver();
     }
 
-    // paints the contents of the grid to a graphics object
-    public void paint(Graphics graphics, Font f, int offset, int xvel, int yvel) {
-        // draw base square, where all tiles are to be drawn
-        graphics.setColor(Color.decode("#bbada0"));
-        graphics.fillRoundRect(15, 140, 475, 475, 10, 10);
-
-        // set the font for tiles
-        f = f.deriveFont(40f);
-        graphics.setFont(f);
-
-        // draw each tile
-        for (int i = 0; i < Grid.SIZE; i++) {
-            for (int j = 0; j < Grid.SIZE; j++) {
-                // mid animation paint
-                if ((xvel != 0 || yvel != 0) && this.grid[j][i].getAction()) {
-                    Tile temp = new Tile();
-                    temp.paint(graphics, 30 + (115 * i), 155 + (115 * j), f);
-                    if (this.grid[j][i].getVal() != 0)
-                        this.grid[j][i].paint(graphics, 30 + (115 * i) + (offset * xvel), 155 + (115 * j) + (offset * yvel), f);
-                }
-                // default paint
-                else
-                    this.grid[j][i].paint(graphics, 30 + (115 * i), 155 + (115 * j), f);
-            }
-        }
-
-        // check for you lose overlay
-        if (this.gameOver()) {
-            // semi-opaque overlay
-            graphics.setColor(new Color(250, 248, 239, 150));
-            graphics.fillRoundRect(15, 140, 475, 475, 10, 10);
-
-            // game over display
-            graphics.setColor(Color.decode("#776e65"));
-            f = f.deriveFont(60f);
-            graphics.setFont(f);
-            FontMetrics metrics = graphics.getFontMetrics(f);
-
-            int x = 260 - (metrics.stringWidth("Game over!") / 2);
-            graphics.drawString("Game over!", x, 360);
-
-            // display try again button
-            graphics.setColor(Color.decode("#8f7a66"));
-            graphics.fillRoundRect(190, 400, 120, 40, 5, 5);
-
-            f = f.deriveFont(18f);
-            graphics.setFont(f);
-            graphics.setColor(Color.decode("#ffffff"));
-            metrics = graphics.getFontMetrics(f);
-            x = 190 + (120 - metrics.stringWidth("Try again")) / 2;
-            int y = 400 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
-            graphics.drawString( "Try again", x, y);
-        }
-        // check for you win overlay
-        else if (this.gameWon()) {
-            // semi-opaque overlay
-            graphics.setColor(new Color(237, 194, 46, 150));
-            graphics.fillRoundRect(15, 140, 475, 475, 10, 10);
-
-            // game over display
-            graphics.setColor(Color.decode("#ffffff"));
-            f = f.deriveFont(60f);
-            graphics.setFont(f);
-            FontMetrics metrics = graphics.getFontMetrics(f);
-
-            int x = 260 -(metrics.stringWidth("You win!") / 2);
-            graphics.drawString("You win!", x, 360);
-
-            // display try again button
-            graphics.setColor(Color.decode("#8f7a66"));
-            graphics.fillRoundRect(190, 400, 120, 40, 5, 5);
-
-            f = f.deriveFont(18f);
-            graphics.setFont(f);
-            graphics.setColor(Color.decode("#ffffff"));
-            metrics = graphics.getFontMetrics(f);
-            x = 190 + (120 - metrics.stringWidth("Try again")) / 2;
-            int y = 400 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
-            graphics.drawString( "Try again", x, y);
-
-            // display continue button
-            graphics.setColor(Color.decode("#8f7a66"));
-            graphics.fillRoundRect(190, 455, 120, 40, 5, 5);
-
-            f = f.deriveFont(18f);
-            graphics.setFont(f);
-            graphics.setColor(Color.decode("#ffffff"));
-            metrics = graphics.getFontMetrics(f);
-            x = 190 + (120 - metrics.stringWidth("Continue")) / 2;
-            y = 455 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
-            graphics.drawString( "Continue", x, y);
-        }
+    // returns a counter that changes whenever the game over, win or largest tile status changes
+    public int getStatusVersion() {
+        return this.engine.getStatusVersion();
     }
 }
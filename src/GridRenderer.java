@@ -0,0 +1,145 @@
+// GridRenderer Class: paints the state of a Grid and its tiles, keeping AWT out of the game rules
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+import java.awt.*;
+
+public class GridRenderer {
+    public static final int TILE_WIDTH = 100;   // width of a tile
+    public static final int TILE_HEIGHT = 100;  // height of a tile
+
+    private TileSprites sprites;                // images of the tiles, rendered in the fonts last painted with
+
+    // paints the contents of a grid to a graphics object, over the board base of the static layer,
+    // as it stands at the given System.nanoTime() in the animation of the most recent turn
+    public void paint(Graphics2D graphics, Grid grid, Fonts fonts, long now) {
+        // render the tile sprites in the current fonts
+        if (this.sprites == null || this.sprites.getFonts() != fonts)
+            this.sprites = new TileSprites(fonts);
+        this.sprites.validate(graphics);
+
+        Animation animation = grid.getAnimation();
+        if (animation.isSliding(now))
+            this.paintSlide(graphics, animation, now);
+        else
+            this.paintTiles(graphics, grid, animation, now);
+
+        // check for you lose overlay
+        if (grid.gameOver()) {
+            // semi-opaque overlay
+            graphics.setColor(Palette.LOSE_OVERLAY);
+            graphics.fillRoundRect(15, 140, 475, 475, 10, 10);
+
+            // game over display
+            graphics.setColor(Palette.TEXT);
+            graphics.setFont(fonts.get(Fonts.OVERLAY));
+            FontMetrics metrics = fonts.getMetrics(Fonts.OVERLAY);
+
+            int x = 260 - (metrics.stringWidth("Game over!") / 2);
+            graphics.drawString("Game over!", x, 360);
+
+            // display try again button
+            graphics.setColor(Palette.BUTTON);
+            graphics.fillRoundRect(190, 400, 120, 40, 5, 5);
+
+            graphics.setFont(fonts.get(Fonts.BUTTON));
+            graphics.setColor(Palette.LIGHT_TEXT);
+            metrics = fonts.getMetrics(Fonts.BUTTON);
+            x = 190 + (120 - metrics.stringWidth("Try again")) / 2;
+            int y = 400 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
+            graphics.drawString( "Try again", x, y);
+        }
+        // check for you win overlay
+        else if (grid.gameWon()) {
+            // semi-opaque overlay
+            graphics.setColor(Palette.WIN_OVERLAY);
+            graphics.fillRoundRect(15, 140, 475, 475, 10, 10);
+
+            // game over display
+            graphics.setColor(Palette.LIGHT_TEXT);
+            graphics.setFont(fonts.get(Fonts.OVERLAY));
+            FontMetrics metrics = fonts.getMetrics(Fonts.OVERLAY);
+
+            int x = 260 -(metrics.stringWidth("You win!") / 2);
+            graphics.drawString("You win!", x, 360);
+
+            // display try again button
+            graphics.setColor(Palette.BUTTON);
+            graphics.fillRoundRect(190, 400, 120, 40, 5, 5);
+
+            graphics.setFont(fonts.get(Fonts.BUTTON));
+            graphics.setColor(Palette.LIGHT_TEXT);
+            metrics = fonts.getMetrics(Fonts.BUTTON);
+            x = 190 + (120 - metrics.stringWidth("Try again")) / 2;
+            int y = 400 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
+            graphics.drawString( "Try again", x, y);
+
+            // display continue button
+            graphics.setColor(Palette.BUTTON);
+            graphics.fillRoundRect(190, 455, 120, 40, 5, 5);
+
+            graphics.setFont(fonts.get(Fonts.BUTTON));
+            graphics.setColor(Palette.LIGHT_TEXT);
+            metrics = fonts.getMetrics(Fonts.BUTTON);
+            x = 190 + (120 - metrics.stringWidth("Continue")) / 2;
+            y = 455 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
+            graphics.drawString( "Continue", x, y);
+        }
+    }
+
+    // paints the tiles sliding from the cells they left towards the cells they end in
+    private void paintSlide(Graphics2D graphics, Animation animation, long now) {
+        // the empty board, under every tile
+        for (int cell = 0; cell < Grid.SIZE * Grid.SIZE; cell++) {
+            if (graphics.hitClip(GridRenderer.cellX(cell), GridRenderer.cellY(cell), TILE_WIDTH, TILE_HEIGHT))
+                this.sprites.paint(graphics, 0, GridRenderer.cellX(cell), GridRenderer.cellY(cell));
+        }
+
+        // ease out, so tiles settle into place
+        double t = animation.slide(now);
+        t = 1 - (1 - t) * (1 - t);
+        for (int tile = 0; tile < animation.getCount(); tile++) {
+            int source = animation.getSource(tile);
+            int destination = animation.getDestination(tile);
+            int x = (int) Math.round(GridRenderer.cellX(source) + t * (GridRenderer.cellX(destination) - GridRenderer.cellX(source)));
+            int y = (int) Math.round(GridRenderer.cellY(source) + t * (GridRenderer.cellY(destination) - GridRenderer.cellY(source)));
+            if (graphics.hitClip(x, y, TILE_WIDTH, TILE_HEIGHT))
+                this.sprites.paint(graphics, animation.getExponent(tile), x, y);
+        }
+    }
+
+    // paints the tiles in their cells, popping in the merged and spawned tiles while the animation runs
+    private void paintTiles(Graphics2D graphics, Grid grid, Animation animation, long now) {
+        boolean popping = animation.isRunning(now);
+        double pop = animation.pop(now);
+
+        for (int cell = 0; cell < Grid.SIZE * Grid.SIZE; cell++) {
+            // skip cells outside a partial repaint; a popping tile never leaves its cell and the gaps around it
+            int x = GridRenderer.cellX(cell);
+            int y = GridRenderer.cellY(cell);
+            if (!graphics.hitClip(x - 15, y - 15, TILE_WIDTH + 30, TILE_HEIGHT + 30))
+                continue;
+
+            int exponent = Palette.exponent(grid.getTile(cell / Grid.SIZE, cell % Grid.SIZE).getVal());
+            if (popping && cell == animation.getSpawnCell()) {
+                // the spawned tile grows from nothing
+                this.sprites.paint(graphics, 0, x, y);
+                this.sprites.paint(graphics, exponent, x, y, pop);
+            } else if (popping && (animation.getMergedCells() & (1 << cell)) != 0)
+                // a merged tile swells and settles back
+                this.sprites.paint(graphics, exponent, x, y, 1 + 0.2 * Math.sin(Math.PI * pop));
+            else
+                this.sprites.paint(graphics, exponent, x, y);
+        }
+    }
+
+    // returns the x position of the tile in a cell (numbered 4 * row + col)
+    private static int cellX(int cell) {
+        return 30 + 115 * (cell % Grid.SIZE);
+    }
+
+    // returns the y position of the tile in a cell (numbered 4 * row + col)
+    private static int cellY(int cell) {
+        return 155 + 115 * (cell / Grid.SIZE);
+    }
+}
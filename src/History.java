@@ -0,0 +1,136 @@
+// History Class: a bounded ring buffer of game snapshots (packed board and score) for undo and redo
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// snapshots are numbered by an ever increasing position; the ring holds the newest `capacity` of
+// them, so recording past a full ring forgets the oldest one; recording after an undo drops the
+// snapshots that could have been redone
+// every snapshot costs 12 bytes, and no operation allocates
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public class History {
+    public static final int DEFAULT_CAPACITY = 1024;    // snapshots kept by default (12 KB)
+
+    private final long[] boards;    // packed board of every snapshot
+    private final int[] scores;     // score of every snapshot
+
+    private long oldest;            // position of the oldest snapshot kept
+    private long current;           // position of the snapshot the game is at
+    private long newest;            // position of the newest snapshot (ahead of current after an undo)
+
+    // base constructor
+    public History() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    // constructor with the number of snapshots to keep
+    public History(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("history capacity must be positive: " + capacity);
+        this.boards = new long[capacity];
+        this.scores = new int[capacity];
+    }
+
+    // forgets every snapshot and starts over from the given state
+    public void reset(long board, int score) {
+        this.oldest = 0;
+        this.current = 0;
+        this.newest = 0;
+        this.store(0, board, score);
+    }
+
+    // records the state reached by a new turn
+    public void push(long board, int score) {
+        this.current++;
+        this.newest = this.current;
+        if (this.current - this.oldest >= this.boards.length)
+            this.oldest = this.current - this.boards.length + 1;
+        this.store(this.current, board, score);
+    }
+
+    // steps back one snapshot; returns false if there is nothing to undo
+    public boolean undo() {
+        if (this.current == this.oldest)
+            return false;
+        this.current--;
+        return true;
+    }
+
+    // steps forward one snapshot; returns false if there is nothing to redo
+    public boolean redo() {
+        if (this.current == this.newest)
+            return false;
+        this.current++;
+        return true;
+    }
+
+    // returns the number of snapshots the ring keeps
+    public int capacity() {
+        return this.boards.length;
+    }
+
+    // returns the number of turns that can be undone
+    public int undoCount() {
+        return (int) (this.current - this.oldest);
+    }
+
+    // returns the number of turns that can be redone
+    public int redoCount() {
+        return (int) (this.newest - this.current);
+    }
+
+    // returns the packed board of the current snapshot
+    public long board() {
+        return this.boards[this.slot(this.current)];
+    }
+
+    // returns the score of the current snapshot
+    public int score() {
+        return this.scores[this.slot(this.current)];
+    }
+
+    // writes every snapshot kept, oldest first, and how far back the game currently is
+    public void write(DataOutput out) throws IOException {
+        out.writeInt((int) (this.newest - this.oldest + 1));
+        out.writeInt((int) (this.current - this.oldest));
+        for (long position = this.oldest; position <= this.newest; position++) {
+            out.writeLong(this.boards[this.slot(position)]);
+            out.writeInt(this.scores[this.slot(position)]);
+        }
+    }
+
+    // replaces the snapshots with those written by write(), keeping the newest ones that fit;
+    // a read that fails part way leaves the ring partly replaced, so a live history is read into a fresh one
+    public void read(DataInput in) throws IOException {
+        int count = in.readInt();
+        int offset = in.readInt();
+        if (count < 1 || offset < 0 || offset >= count)
+            throw new IOException("corrupt history: " + count + " snapshots at " + offset);
+
+        this.oldest = 0;
+        for (int position = 0; position < count; position++) {
+            long board = in.readLong();
+            int score = in.readInt();
+            this.store(position, board, score);
+        }
+        this.newest = count - 1;
+        this.current = offset;
+        if (this.newest - this.oldest >= this.boards.length)
+            this.oldest = this.newest - this.boards.length + 1;
+        if (this.current < this.oldest)
+            this.current = this.oldest;
+    }
+
+    private void store(long position, long board, int score) {
+        int slot = this.slot(position);
+        this.boards[slot] = board;
+        this.scores[slot] = score;
+    }
+
+    private int slot(long position) {
+        return (int) (position % this.boards.length);
+    }
+}
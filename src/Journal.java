@@ -0,0 +1,356 @@
+// Journal Class: a write-behind autosave journal of every turn, kept on disk by a dedicated I/O thread
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// the game on disk is the newest SaveFile snapshot plus the journal records written after it
+// journal format: int magic ("2048"), byte version, long generation of the snapshot it follows,
+// then records of a type byte and its payload:
+//   TURN (direction byte, spawn byte cell << 1 | exponent - 1), UNDO, REDO, RESTART (long seed)
+// the event thread only queues records; the journal thread writes them in batches, syncs the file
+// at most once per sync interval, and every so many records writes a fresh snapshot and starts
+// the journal over, so restoring never replays more than that many records
+// if the queue overflows, the records still queued are dropped in favour of a snapshot, which is
+// retaken on every change until the journal thread picks it up
+// restoring stops at the first record cut short or no longer matching the game, keeping the state
+// replayed so far; once started, the journal snapshots that state and starts over
+// if the journal thread fails, journaling stops and closing saves a snapshot directly instead
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class Journal {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;  // records waiting for the journal thread
+    public static final long DEFAULT_SYNC_INTERVAL = 1000;  // milliseconds between syncs of the file
+    public static final int DEFAULT_COMPACT_EVERY = 500;    // records between snapshots
+
+    private static final int MAGIC = 0x32303438;    // "2048"
+    private static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 13;
+    private static final long CLOSE_TIMEOUT = 5000; // milliseconds to wait for the journal thread when closing
+
+    // record types
+    private static final byte TURN = 1;
+    private static final byte UNDO = 2;
+    private static final byte REDO = 3;
+    private static final byte RESTART = 4;
+    private static final byte SNAPSHOT = 5;         // not written: a snapshot to save before starting over
+    private static final byte STOP = 6;             // not written: stops the journal thread
+
+    private final Path path;                        // journal file
+    private final SaveFile snapshots;               // snapshot the journal follows
+    private final long syncInterval;                // milliseconds between syncs of the file
+    private final int compactEvery;                 // records between snapshots
+    private final BlockingQueue<Entry> queue;       // records waiting for the journal thread
+    private final AtomicReference<Entry> overflow;  // snapshot taken when the queue was full
+    private final Thread thread;                    // journal thread
+    private volatile boolean failed;                // true once the journal thread has stopped on an error
+
+    // touched by the event thread only
+    private Grid grid;                  // game being journaled
+    private long sequence;              // number of the newest record queued
+    private int sinceSnapshot;          // records queued since the newest snapshot
+
+    // base constructor
+    public Journal(Path path, SaveFile snapshots) {
+        this(path, snapshots, DEFAULT_QUEUE_CAPACITY, DEFAULT_SYNC_INTERVAL, DEFAULT_COMPACT_EVERY);
+    }
+
+    // constructor with the queue capacity, the milliseconds between syncs and the records between snapshots
+    public Journal(Path path, SaveFile snapshots, int capacity, long syncInterval, int compactEvery) {
+        if (capacity < 1 || syncInterval < 0 || compactEvery < 1)
+            throw new IllegalArgumentException("invalid journal settings");
+        this.path = path;
+        this.snapshots = snapshots;
+        this.syncInterval = syncInterval;
+        this.compactEvery = compactEvery;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.overflow = new AtomicReference<>();
+        this.thread = new Thread(this::run, "journal-writer");
+        this.thread.setDaemon(true);
+    }
+
+    // replays the journal records that follow a snapshot of the given generation onto the grid, up to
+    // the first record that is cut short, corrupt or does not match the game; returns the number of
+    // records applied
+    public static int restore(Path path, long generation, Grid grid) throws IOException {
+        if (!Files.exists(path))
+            return 0;
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(path)));
+        try {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                System.err.println("journal: not a journal, ignored: " + path);
+                return 0;
+            }
+            // a journal of another generation is already part of the snapshot
+            if (in.readLong() != generation)
+                return 0;
+        } catch (EOFException e) {
+            return 0;
+        }
+
+        // the records were counted by the engine metrics when first played
+        EngineMetrics metrics = grid.getMetrics();
+        grid.setMetrics(null);
+        int applied = 0;
+        try {
+            while (Journal.replay(in, grid))
+                applied++;
+            System.err.println("journal: stopped at record " + applied + " that no longer matches the game");
+        } catch (EOFException e) {
+            // the end of the journal, possibly a record cut short by a crash
+        } finally {
+            grid.setMetrics(metrics);
+        }
+        return applied;
+    }
+
+    // replays the next record onto the grid; returns false, leaving the grid as it was, if the record
+    // is corrupt or does not match the game
+    private static boolean replay(DataInputStream in, Grid grid) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case TURN -> {
+                byte direction = in.readByte();
+                byte spawn = in.readByte();
+                if (direction < 0 || direction >= Direction.COUNT)
+                    return false;
+                if (!MoveResult.moved(grid.turn(Direction.of(direction))))
+                    return false;
+                try {
+                    grid.placeTile((spawn >>> 1) & 0xF, (spawn & 1) + 1);
+                } catch (IllegalArgumentException e) {
+                    grid.cancelTurn();
+                    return false;
+                }
+                return true;
+            }
+            case UNDO -> {
+                return grid.undo();
+            }
+            case REDO -> {
+                return grid.redo();
+            }
+            case RESTART -> {
+                grid.restart(in.readLong());
+                return true;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    // starts journaling a grid: writes a snapshot of it and starts the journal thread
+    public void start(Grid grid) {
+        this.grid = grid;
+        grid.setJournal(this);
+        this.snapshot();
+        this.thread.start();
+    }
+
+    // queues a completed turn
+    public void turn(Direction direction, int cell, int exponent) {
+        this.append(new Entry(TURN, direction.ordinal() << 8 | ReplayLog.spawnRecord(cell, exponent) & 0xFF, null));
+    }
+
+    // queues an undo
+    public void undo() {
+        this.append(new Entry(UNDO, 0, null));
+    }
+
+    // queues a redo
+    public void redo() {
+        this.append(new Entry(REDO, 0, null));
+    }
+
+    // queues a new game started from the given seed
+    public void restart(long seed) {
+        this.append(new Entry(RESTART, seed, null));
+    }
+
+    // queues a snapshot of the grid, after which the journal starts over
+    public void snapshot() {
+        if (this.failed)
+            return;
+        this.sinceSnapshot = 0;
+        byte[] bytes = this.snapshots.encode(this.grid);
+        Entry entry = new Entry(SNAPSHOT, this.snapshots.getGeneration(), bytes);
+        entry.sequence = ++this.sequence;
+        if (this.overflow.get() != null || !this.queue.offer(entry))
+            this.overflow.set(entry);
+    }
+
+    // checks if the journal thread has stopped on an error, after which nothing more is journaled
+    public boolean isFailed() {
+        return this.failed;
+    }
+
+    // writes a final snapshot and waits for the journal thread to finish
+    public void close() {
+        // with the journal thread gone, save the game directly rather than wait on it
+        if (this.failed || !this.thread.isAlive()) {
+            if (this.grid != null) {
+                try {
+                    this.snapshots.write(this.snapshots.encode(this.grid));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }
+            return;
+        }
+
+        this.snapshot();
+        Entry stop = new Entry(STOP, 0, null);
+        stop.sequence = ++this.sequence;
+        try {
+            this.queue.offer(stop, CLOSE_TIMEOUT, TimeUnit.MILLISECONDS);
+            this.thread.join(CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // queues a record, taking a snapshot instead if the journal thread has fallen behind
+    private void append(Entry entry) {
+        if (this.failed)
+            return;
+        if (this.overflow.get() != null) {
+            this.snapshot();
+            return;
+        }
+
+        entry.sequence = ++this.sequence;
+        if (!this.queue.offer(entry))
+            this.snapshot();
+        else if (++this.sinceSnapshot >= this.compactEvery)
+            this.snapshot();
+    }
+
+    // drains the queue into the journal file (runs on the journal thread)
+    private void run() {
+        List<Entry> batch = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 10 * this.queue.remainingCapacity());
+        long skipThrough = 0;       // records up to this number are part of a snapshot already written
+        long lastSync = System.currentTimeMillis();
+        boolean dirty = false;      // true if records were written since the last sync
+
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            while (true) {
+                Entry first = this.queue.poll(Math.max(1, this.syncInterval), TimeUnit.MILLISECONDS);
+                if (first != null)
+                    batch.add(first);
+                this.queue.drainTo(batch);
+
+                // a snapshot taken on overflow replaces every record queued before it
+                Entry overflowed = this.overflow.getAndSet(null);
+                if (overflowed != null && overflowed.sequence > skipThrough) {
+                    this.writeSnapshot(channel, buffer, overflowed);
+                    skipThrough = overflowed.sequence;
+                    dirty = false;
+                }
+
+                for (Entry entry : batch) {
+                    if (entry.sequence <= skipThrough)
+                        continue;
+                    switch (entry.type) {
+                        case SNAPSHOT -> {
+                            this.flush(channel, buffer);
+                            this.writeSnapshot(channel, buffer, entry);
+                            skipThrough = entry.sequence;
+                            dirty = false;
+                        }
+                        case STOP -> {
+                            this.flush(channel, buffer);
+                            channel.force(false);
+                            return;
+                        }
+                        default -> {
+                            if (buffer.remaining() < 9)
+                                this.flush(channel, buffer);
+                            entry.encode(buffer);
+                            dirty = true;
+                        }
+                    }
+                }
+                batch.clear();
+                this.flush(channel, buffer);
+
+                long now = System.currentTimeMillis();
+                if (dirty && now - lastSync >= this.syncInterval) {
+                    channel.force(false);
+                    lastSync = now;
+                    dirty = false;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // stop journaling rather than have every change fall back to a snapshot nobody writes
+            this.failed = true;
+            this.queue.clear();
+            this.overflow.set(null);
+            System.err.println("journal: writer failed, journaling stopped");
+            e.printStackTrace();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // writes a snapshot, then starts the journal over behind it
+    private void writeSnapshot(FileChannel channel, ByteBuffer buffer, Entry snapshot) throws IOException {
+        // once the snapshot is renamed into place the old journal is ignored, so a crash
+        // between the two steps loses nothing
+        this.snapshots.write(snapshot.bytes);
+
+        channel.truncate(0);
+        channel.position(0);
+        buffer.clear();
+        buffer.putInt(MAGIC).put(VERSION).putLong(snapshot.value);
+        this.flush(channel, buffer);
+        channel.force(false);
+    }
+
+    // writes out the buffered records
+    private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+    // a record queued for the journal thread
+    private static final class Entry {
+        private final byte type;
+        private final long value;       // payload: direction and spawn, seed or snapshot generation
+        private final byte[] bytes;     // encoded snapshot, for snapshot records
+        private long sequence;          // number of the record, in queue order
+
+        Entry(byte type, long value, byte[] bytes) {
+            this.type = type;
+            this.value = value;
+            this.bytes = bytes;
+        }
+
+        // writes the record in its journal format
+        void encode(ByteBuffer buffer) {
+            buffer.put(this.type);
+            switch (this.type) {
+                case TURN -> buffer.put((byte) (this.value >>> 8)).put((byte) this.value);
+                case RESTART -> buffer.putLong(this.value);
+                default -> { }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+// LogLinearBuckets Class: the buckets of a log-linear histogram of non-negative int values
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// values below 128 have a bucket each; above that every power of two is split into 64 buckets, so
+// the lower edge of a bucket is within about 1.6% of every value in it
+
+public final class LogLinearBuckets {
+    public static final int SUB_BUCKETS = 64;               // buckets per power of two
+    public static final int COUNT = SUB_BUCKETS * 32;       // buckets covering every int value
+
+    private LogLinearBuckets() {}
+
+    // returns the bucket holding a non-negative value
+    public static int bucket(int value) {
+        if (value < 2 * SUB_BUCKETS)
+            return value;
+        int magnitude = 31 - Integer.numberOfLeadingZeros(value) - 6;   // drop all but the top 7 bits
+        return SUB_BUCKETS * (magnitude + 1) + ((value >>> magnitude) - SUB_BUCKETS);
+    }
+
+    // returns the smallest value in a bucket
+    public static long lowerBound(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS)
+            return bucket;
+        int magnitude = bucket / SUB_BUCKETS - 1;
+        return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << magnitude;
+    }
+}
@@ -0,0 +1,77 @@
+// MonteCarloPlayer Class: picks a direction for a 2048 board by playing many games out from it
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// every legal direction is followed by a number of rollouts played to game over with a headless
+// engine, and the direction with the best average score wins; rollouts run on a parallel stream,
+// each with its own engine and random stream seeded from its index, so they share no mutable state
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+public class MonteCarloPlayer implements Strategy {
+    public static final int DEFAULT_ROLLOUTS = 100;     // rollouts per direction
+
+    private final int rollouts;         // rollouts per direction
+    private final boolean greedy;       // true if rollouts take the highest scoring move instead of a random one
+    private final SplittableRandom random;  // source of the per-move base seeds
+
+    // base constructor, with random rollouts
+    public MonteCarloPlayer() {
+        this(DEFAULT_ROLLOUTS, false, System.nanoTime());
+    }
+
+    // constructor with the number of rollouts per direction, the rollout policy and a seed
+    public MonteCarloPlayer(int rollouts, boolean greedy, long seed) {
+        if (rollouts < 1)
+            throw new IllegalArgumentException("rollouts must be positive: " + rollouts);
+        this.rollouts = rollouts;
+        this.greedy = greedy;
+        this.random = new SplittableRandom(seed);
+    }
+
+    // returns the best direction for a packed board, or null if no direction moves any tile
+    public Direction bestMove(long board) {
+        long base = this.random.nextLong();
+
+        Direction best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < Direction.COUNT; k++) {
+            Direction direction = Direction.of(k);
+            long moved = BitBoardEngine.move(board, direction);
+            if (moved == board)
+                continue;
+
+            int gained = BitBoardEngine.moveScore(board, direction);
+            long seed = base + direction.ordinal() * 0x9E3779B97F4A7C15L;
+            double average = gained + IntStream.range(0, this.rollouts)
+                    .parallel()
+                    .mapToLong(i -> this.rollout(moved, seed + i))
+                    .average()
+                    .orElse(0);
+
+            if (average > bestScore) {
+                bestScore = average;
+                best = direction;
+            }
+        }
+        return best;
+    }
+
+    // plays a board that was just moved to game over; returns the score gained along the way
+    private long rollout(long board, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        GameEngine engine = new BitBoardEngine(random.nextLong());
+        engine.load(board, 0);
+        engine.spawn();
+
+        while (!engine.gameOver()) {
+            Direction direction = this.greedy ? GreedyStrategy.move(engine.getBoard(), random) : RandomStrategy.move(engine.getBoard(), random);
+            if (direction == null)
+                break;
+            engine.turn(direction);
+            engine.spawn();
+        }
+        return engine.getScore();
+    }
+}
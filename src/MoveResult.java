@@ -0,0 +1,39 @@
+// MoveResult Class: encodes the outcome of a turn into a single primitive, so turns allocate nothing
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// layout: bit 0 is the moved flag, bits 1-4 the largest exponent on the board,
+// and the upper 32 bits the score gained by the turn
+
+public final class MoveResult {
+    private static final long MOVED = 1L;
+    private static final int EXPONENT_SHIFT = 1;
+    private static final int SCORE_SHIFT = 32;
+
+    private MoveResult() {}
+
+    // packs the outcome of a turn
+    public static long of(boolean moved, int scoreDelta, int maxExponent) {
+        return ((long) scoreDelta << SCORE_SHIFT) | ((long) maxExponent << EXPONENT_SHIFT) | (moved ? MOVED : 0);
+    }
+
+    // returns true if the turn moved any tile
+    public static boolean moved(long result) {
+        return (result & MOVED) != 0;
+    }
+
+    // returns the score gained by the turn
+    public static int scoreDelta(long result) {
+        return (int) (result >>> SCORE_SHIFT);
+    }
+
+    // returns the largest exponent on the board after the turn
+    public static int maxExponent(long result) {
+        return (int) ((result >>> EXPONENT_SHIFT) & 0xF);
+    }
+
+    // returns the largest tile value on the board after the turn
+    public static int maxTile(long result) {
+        return 1 << maxExponent(result);
+    }
+}
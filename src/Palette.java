@@ -0,0 +1,55 @@
+// Palette Class: the colours of the game, decoded once and shared by every tile and painter
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// tile colours are indexed by the tile exponent, 0 being the empty tile; every tile past 2048 is black
+
+import java.awt.*;
+
+public final class Palette {
+    // interface colours
+    public static final Color BACKGROUND = new Color(0xfaf8ef);     // window background
+    public static final Color TEXT = new Color(0x776e65);           // title, instructions and dark tile values
+    public static final Color BOARD = new Color(0xbbada0);          // board base and score boxes
+    public static final Color LABEL = new Color(0xebded1);          // score box headers
+    public static final Color BUTTON = new Color(0x8f7a66);         // buttons
+    public static final Color LIGHT_TEXT = new Color(0xffffff);     // button text, scores and light tile values
+    public static final Color EMPTY = new Color(0xcdc1b4);          // empty cell
+    public static final Color LOSE_OVERLAY = new Color(250, 248, 239, 150);
+    public static final Color WIN_OVERLAY = new Color(237, 194, 46, 150);
+    public static final Color HUD = new Color(60, 58, 51, 200);     // frame statistics overlay
+
+    // tile background colours by exponent
+    private static final Color[] TILES = {
+            EMPTY,
+            new Color(0xeee4da),    // 2
+            new Color(0xede0c8),    // 4
+            new Color(0xf2b179),    // 8
+            new Color(0xf59563),    // 16
+            new Color(0xf67c5f),    // 32
+            new Color(0xf65e3b),    // 64
+            new Color(0xedcf72),    // 128
+            new Color(0xedcc61),    // 256
+            new Color(0xedc850),    // 512
+            new Color(0xedc53f),    // 1024
+            new Color(0xedc22e),    // 2048
+            new Color(0x3d3a33),    // past 2048
+    };
+
+    private Palette() {}
+
+    // returns the background colour of a tile with the given exponent
+    public static Color tile(int exponent) {
+        return TILES[Math.min(exponent, TILES.length - 1)];
+    }
+
+    // returns the colour of the value of a tile with the given exponent; an empty tile hides its text
+    public static Color pen(int exponent) {
+        return exponent == 0 ? EMPTY : exponent <= 2 ? TEXT : LIGHT_TEXT;
+    }
+
+    // returns the exponent of a tile value, 0 for an empty tile
+    public static int exponent(int value) {
+        return value == 0 ? 0 : Integer.numberOfTrailingZeros(value);
+    }
+}
@@ -0,0 +1,32 @@
+// RandomStrategy Class: a player that picks a random direction that moves a tile
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// the move helper is shared with the random rollouts of MonteCarloPlayer
+
+import java.util.SplittableRandom;
+
+public class RandomStrategy implements Strategy {
+    private final SplittableRandom random;  // source of the directions
+
+    // constructor with the seed of the directions
+    public RandomStrategy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    // returns a random direction that moves a tile on a packed board, or null if no direction moves any tile
+    public Direction bestMove(long board) {
+        return RandomStrategy.move(board, this.random);
+    }
+
+    // returns a random direction that moves a tile, starting the search at a random direction
+    public static Direction move(long board, SplittableRandom random) {
+        int start = random.nextInt(Direction.COUNT);
+        for (int k = 0; k < Direction.COUNT; k++) {
+            Direction direction = Direction.of((start + k) % Direction.COUNT);
+            if (BitBoardEngine.move(board, direction) != board)
+                return direction;
+        }
+        return null;
+    }
+}
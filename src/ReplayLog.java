@@ -0,0 +1,147 @@
+// ReplayLog Class: a compact, immutable record of a complete game that can be re-simulated to verify it
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// binary format (big-endian, as written by DataOutput):
+//   int magic ("2048"), byte version, byte flags, long seed, int move count, int final score,
+//   moves packed 4 per byte (2 bits each, lowest bits first, in Direction order),
+//   and when the spawns flag is set, one byte per spawn (cell << 1 | exponent - 1),
+//   starting with the two tiles of the opening board
+// a game played on an engine seeded with `seed` needs no spawn records: replaying the moves on a
+// fresh engine with the same seed draws the same spawns
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+public final class ReplayLog {
+    private static final int MAGIC = 0x32303438;    // "2048"
+    private static final byte VERSION = 1;
+    private static final byte FLAG_SPAWNS = 1;      // spawn records follow the moves
+
+    // most turns a game can have: every turn spawns at least a 2 and merges keep the sum of the board,
+    // which 16 tiles of at most 2^MAX_EXPONENT bound
+    static final int MAX_MOVES = BitBoardEngine.SIZE * BitBoardEngine.SIZE << (BitBoardEngine.MAX_EXPONENT - 1);
+
+    private final long seed;            // seed of the engine the game was played on
+    private final int moveCount;        // number of turns played
+    private final byte[] moves;         // packed directions
+    private final byte[] spawns;        // spawn records, or null if the seed reproduces them
+    private final int finalScore;       // score at the end of the recording
+
+    ReplayLog(long seed, int moveCount, byte[] moves, byte[] spawns, int finalScore) {
+        this.seed = seed;
+        this.moveCount = moveCount;
+        this.moves = moves;
+        this.spawns = spawns;
+        this.finalScore = finalScore;
+    }
+
+    // returns the seed of the engine the game was played on
+    public long getSeed() {
+        return this.seed;
+    }
+
+    // returns the number of turns played
+    public int getMoveCount() {
+        return this.moveCount;
+    }
+
+    // returns the direction of the given turn
+    public Direction getMove(int turn) {
+        return Direction.of((this.moves[turn >>> 2] >>> (2 * (turn & 3))) & 3);
+    }
+
+    // returns true if every spawn is recorded, rather than reproduced from the seed
+    public boolean hasSpawns() {
+        return this.spawns != null;
+    }
+
+    // returns the score recorded at the end of the game
+    public int getFinalScore() {
+        return this.finalScore;
+    }
+
+    // returns the number of bytes written by write()
+    public int size() {
+        return 22 + this.moves.length + (this.spawns == null ? 0 : this.spawns.length);
+    }
+
+    // plays the recorded game again on a headless engine; returns the engine at the end of the game
+    public GameEngine replay() {
+        GameEngine engine = new BitBoardEngine(this.seed);
+        if (this.spawns != null) {
+            engine.load(0, 0);
+            placeSpawn(engine, this.spawns[0]);
+            placeSpawn(engine, this.spawns[1]);
+        }
+
+        for (int turn = 0; turn < this.moveCount; turn++) {
+            if (!MoveResult.moved(engine.turn(this.getMove(turn))))
+                throw new IllegalStateException("replay diverged: turn " + turn + " moved no tile");
+            if (this.spawns != null)
+                placeSpawn(engine, this.spawns[turn + 2]);
+            else
+                engine.spawn();
+        }
+        return engine;
+    }
+
+    // replays the game and checks that it reaches the recorded score
+    public boolean verify() {
+        try {
+            return this.replay().getScore() == this.finalScore;
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // writes the log in its binary format
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(this.spawns != null ? FLAG_SPAWNS : 0);
+        out.writeLong(this.seed);
+        out.writeInt(this.moveCount);
+        out.writeInt(this.finalScore);
+        out.write(this.moves);
+        if (this.spawns != null)
+            out.write(this.spawns);
+    }
+
+    // reads a log written by write()
+    public static ReplayLog read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC)
+            throw new IOException("not a replay log");
+        byte version = in.readByte();
+        if (version != VERSION)
+            throw new IOException("unsupported replay log version " + version);
+
+        byte flags = in.readByte();
+        long seed = in.readLong();
+        int moveCount = in.readInt();
+        int finalScore = in.readInt();
+        if (moveCount < 0 || moveCount > MAX_MOVES)
+            throw new IOException("corrupt replay log: " + moveCount + " moves");
+
+        byte[] moves = new byte[(moveCount + 3) >>> 2];
+        in.readFully(moves);
+        byte[] spawns = null;
+        if ((flags & FLAG_SPAWNS) != 0) {
+            spawns = new byte[moveCount + 2];
+            in.readFully(spawns);
+        }
+        return new ReplayLog(seed, moveCount, moves, spawns, finalScore);
+    }
+
+    // encodes a spawn record, which only has room for the exponents of a spawn, 1 and 2
+    static byte spawnRecord(int cell, int exponent) {
+        if (cell < 0 || cell >= BitBoardEngine.SIZE * BitBoardEngine.SIZE || (exponent != 1 && exponent != 2))
+            throw new IllegalArgumentException("not a spawn: exponent " + exponent + " on cell " + cell);
+        return (byte) ((cell << 1) | (exponent - 1));
+    }
+
+    private static void placeSpawn(GameEngine engine, byte record) {
+        engine.place((record >>> 1) & 0xF, (record & 1) + 1);
+    }
+}
@@ -0,0 +1,122 @@
+// ReplayRecorder Class: records the turns of a game as it is played, to produce a ReplayLog
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// spawns are always kept alongside the moves, but only written out once the seed can no longer
+// reproduce them, which happens when a new turn is played after an undo, or when a saved game is
+// resumed on an engine whose random stream could not be saved
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class ReplayRecorder {
+    private long seed;                      // seed of the engine the game is played on
+    private byte[] moves = new byte[64];    // packed directions, 4 per byte
+    private byte[] spawns = new byte[256];  // spawn records, starting with the two opening tiles
+    private int count;                      // number of turns recorded (behind newest after an undo)
+    private int newest;                     // number of turns that could be redone
+    private boolean diverged;               // true if the seed no longer reproduces the spawns
+
+    // starts recording a game played on an engine reset with the given seed and opening board
+    public void start(long seed, long board) {
+        this.seed = seed;
+        this.count = 0;
+        this.newest = 0;
+        this.diverged = false;
+
+        // the two opening tiles, in cell order
+        int k = 0;
+        for (int cell = 0; cell < BitBoardEngine.SIZE * BitBoardEngine.SIZE && k < 2; cell++) {
+            int exponent = (int) ((board >>> (4 * cell)) & 0xF);
+            if (exponent != 0)
+                this.spawns[k++] = ReplayLog.spawnRecord(cell, exponent);
+        }
+    }
+
+    // records a turn and the spawn that followed it
+    public void record(Direction direction, int cell, int exponent) {
+        // the undone turns consumed random draws that this turn will not repeat
+        if (this.count < this.newest)
+            this.diverged = true;
+
+        if ((this.count >>> 2) == this.moves.length)
+            this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+        if (this.count + 2 == this.spawns.length)
+            this.spawns = Arrays.copyOf(this.spawns, this.spawns.length * 2);
+
+        int shift = 2 * (this.count & 3);
+        int index = this.count >>> 2;
+        this.moves[index] = (byte) ((this.moves[index] & ~(3 << shift)) | (direction.ordinal() << shift));
+        this.spawns[this.count + 2] = ReplayLog.spawnRecord(cell, exponent);
+        this.count++;
+        this.newest = this.count;
+    }
+
+    // marks the spawns as no longer reproducible from the seed
+    public void diverge() {
+        this.diverged = true;
+    }
+
+    // steps back one turn
+    public void undo() {
+        if (this.count > 0)
+            this.count--;
+    }
+
+    // steps forward one undone turn
+    public void redo() {
+        if (this.count < this.newest)
+            this.count++;
+    }
+
+    // returns the number of turns recorded
+    public int getMoveCount() {
+        return this.count;
+    }
+
+    // writes the recording, including turns that could be redone
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(this.seed);
+        out.writeInt(this.count);
+        out.writeInt(this.newest);
+        out.write(this.moves, 0, (this.newest + 3) >>> 2);
+        out.write(this.spawns, 0, this.newest + 2);
+    }
+
+    // replaces the recording with one written by write()
+    public void read(DataInput in) throws IOException {
+        long seed = in.readLong();
+        int count = in.readInt();
+        int newest = in.readInt();
+        if (count < 0 || newest < count || newest > ReplayLog.MAX_MOVES)
+            throw new IOException("corrupt recording: " + count + " of " + newest + " turns");
+
+        byte[] moves = new byte[Math.max(64, (newest + 3) >>> 2)];
+        byte[] spawns = new byte[Math.max(256, newest + 3)];
+        in.readFully(moves, 0, (newest + 3) >>> 2);
+        in.readFully(spawns, 0, newest + 2);
+
+        this.seed = seed;
+        this.count = count;
+        this.newest = newest;
+        this.moves = moves;
+        this.spawns = spawns;
+
+        // the engine resumes on a new random stream, so the seed stops reproducing spawns
+        this.diverged = true;
+    }
+
+    // returns a log of the turns recorded so far
+    public ReplayLog toLog(int finalScore) {
+        byte[] packed = Arrays.copyOf(this.moves, (this.count + 3) >>> 2);
+
+        // clear the directions of undone turns sharing the last byte
+        if ((this.count & 3) != 0)
+            packed[packed.length - 1] &= (byte) ((1 << (2 * (this.count & 3))) - 1);
+
+        byte[] spawned = this.diverged ? Arrays.copyOf(this.spawns, this.count + 2) : null;
+        return new ReplayLog(this.seed, this.count, packed, spawned, finalScore);
+    }
+}
@@ -0,0 +1,107 @@
+// SaveFile Class: persists the whole game to disk, writing atomically
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// binary format: int magic ("2048"), byte version, long generation, then the game state written by
+// Grid.writeState; the generation numbers successive snapshots, so a Journal can tell which of its
+// records are already part of the snapshot (version 1 files have no generation and count as 0)
+// a save is encoded into memory on the event thread, then the Journal thread writes it to a temporary
+// file, syncs it and renames it over the save file, so a crash never leaves a half written save
+// the old text save file, holding only the high score, can still be read with loadHighscore
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class SaveFile {
+    private static final int MAGIC = 0x32303438;    // "2048"
+    private static final byte VERSION = 2;
+
+    private final Path path;                        // save file
+    private final Path temporary;                   // file written before being renamed over the save file
+    private long generation;                        // generation of the newest save loaded or made
+
+    // constructor with the location of the save file
+    public SaveFile(Path path) {
+        this.path = path;
+        this.temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    // returns the generation of the newest save loaded or made
+    public long getGeneration() {
+        return this.generation;
+    }
+
+    // encodes the game as the next generation of the save file
+    byte[] encode(Grid grid) {
+        this.generation++;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(this.generation);
+            grid.writeState(out);
+        } catch (IOException e) {
+            // writing to memory cannot fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // loads the save file into the grid with a single read; returns false if there is no save file
+    public boolean load(Grid grid) throws IOException {
+        if (!Files.exists(this.path))
+            return false;
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(this.path)));
+        if (in.readInt() != MAGIC)
+            throw new IOException("not a save file: " + this.path);
+        byte version = in.readByte();
+        if (version != 1 && version != VERSION)
+            throw new IOException("unsupported save file version " + version);
+        long generation = version == 1 ? 0 : in.readLong();
+        grid.readState(in);
+        this.generation = generation;
+        return true;
+    }
+
+    // reads the high score from an old text save file; returns false if there is no such file
+    public static boolean loadHighscore(Path path, Grid grid) throws IOException {
+        if (!Files.exists(path))
+            return false;
+        try {
+            grid.setHighscore(Integer.parseInt(Files.readString(path, StandardCharsets.UTF_8).trim()));
+        } catch (NumberFormatException e) {
+            throw new IOException("not a high score file: " + path, e);
+        }
+        return true;
+    }
+
+    // writes an encoded save to a temporary file, syncs it and renames it over the save file
+    void write(byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(this.temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+            channel.force(true);
+        }
+
+        try {
+            Files.move(this.temporary, this.path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(this.temporary, this.path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
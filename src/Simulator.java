@@ -0,0 +1,259 @@
+// Simulator Class: plays batches of headless games with a chosen strategy on every core and reports statistics
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// usage: java Simulator [--games N] [--strategy random|greedy|ai|mc] [--threads T] [--seed S]
+//                       [--depth D] [--format csv|json] [--out FILE]
+// one line per game is streamed to the output (stdout by default) as soon as the game ends, as CSV
+// or as JSON lines; the summary is printed to stderr at the end
+// game i is played on an engine seeded with seed + i, so a run can be repeated exactly with the
+// random and greedy strategies; every worker keeps its own statistics, merged once all games are
+// played, so memory does not grow with the number of games
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+
+public class Simulator {
+    private final long games;                           // games to play
+    private final int threads;                          // worker threads
+    private final long seed;                            // seed of the first game
+    private final boolean json;                         // true for JSON lines, false for CSV
+    private final LongFunction<Strategy> strategies;    // creates the strategy of a worker from a seed
+    private final Writer out;                           // per game results
+
+    // constructor with the run settings
+    public Simulator(long games, int threads, long seed, boolean json, LongFunction<Strategy> strategies, Writer out) {
+        this.games = games;
+        this.threads = threads;
+        this.seed = seed;
+        this.json = json;
+        this.strategies = strategies;
+        this.out = out;
+    }
+
+    // plays every game and returns the merged statistics; rethrows the first failure of a worker,
+    // once every worker has stopped
+    public Statistics run() throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Statistics[] results = new Statistics[this.threads];
+        Thread[] workers = new Thread[this.threads];
+
+        if (!this.json)
+            this.emit("game,seed,score,max_tile,moves\n");
+
+        for (int t = 0; t < this.threads; t++) {
+            Statistics statistics = new Statistics();
+            Strategy strategy = this.strategies.apply(this.seed ^ (0x9E3779B97F4A7C15L * (t + 1)));
+            results[t] = statistics;
+            workers[t] = new Thread(() -> {
+                StringBuilder line = new StringBuilder();
+                try {
+                    for (long game = next.getAndIncrement(); game < this.games; game = next.getAndIncrement())
+                        this.play(game, strategy, statistics, line);
+                } catch (RuntimeException | Error e) {
+                    // stop the other workers too, since the run can no longer complete
+                    failure.compareAndSet(null, e);
+                    next.set(this.games);
+                }
+            }, "simulator-" + t);
+            workers[t].start();
+        }
+
+        Statistics total = new Statistics();
+        for (int t = 0; t < this.threads; t++) {
+            workers[t].join();
+            total.merge(results[t]);
+        }
+
+        // a failed run is not reported as a complete one
+        Throwable thrown = failure.get();
+        if (thrown instanceof Error error)
+            throw error;
+        if (thrown != null)
+            throw (RuntimeException) thrown;
+        return total;
+    }
+
+    // plays one game to the end and records it
+    private void play(long game, Strategy strategy, Statistics statistics, StringBuilder line) {
+        long gameSeed = this.seed + game;
+        GameEngine engine = new BitBoardEngine();
+        engine.setMetrics(EngineMetrics.global());
+        engine.reset(gameSeed);
+        int moves = 0;
+
+        while (!engine.gameOver()) {
+            Direction direction = strategy.bestMove(engine.getBoard());
+            if (direction == null || !MoveResult.moved(engine.turn(direction)))
+                break;
+            engine.spawn();
+            moves++;
+        }
+        statistics.add(engine.getScore(), engine.getMaxExponent(), moves);
+
+        line.setLength(0);
+        if (this.json)
+            line.append("{\"game\":").append(game).append(",\"seed\":").append(gameSeed)
+                    .append(",\"score\":").append(engine.getScore()).append(",\"max_tile\":").append(1 << engine.getMaxExponent())
+                    .append(",\"moves\":").append(moves).append("}\n");
+        else
+            line.append(game).append(',').append(gameSeed).append(',').append(engine.getScore()).append(',')
+                    .append(1 << engine.getMaxExponent()).append(',').append(moves).append('\n');
+        this.emit(line);
+    }
+
+    // writes to the shared output
+    private void emit(CharSequence text) {
+        synchronized (this.out) {
+            try {
+                this.out.append(text);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // aggregate statistics of a batch of games, in constant memory
+    // scores go into a log-linear histogram bucketed by LogLinearBuckets, so percentiles are
+    // exact below 128 and within 1.6% above
+    public static class Statistics {
+        private final long[] scores = new long[LogLinearBuckets.COUNT];     // score histogram
+        private final long[] maxTiles = new long[16];               // games by largest exponent
+        private long games;
+        private long moves;
+        private long totalScore;
+        private int bestScore;
+
+        // records a finished game
+        public void add(int score, int maxExponent, int moves) {
+            this.scores[LogLinearBuckets.bucket(score)]++;
+            this.maxTiles[maxExponent]++;
+            this.games++;
+            this.moves += moves;
+            this.totalScore += score;
+            this.bestScore = Math.max(this.bestScore, score);
+        }
+
+        // adds the games of another batch
+        public void merge(Statistics other) {
+            for (int k = 0; k < this.scores.length; k++)
+                this.scores[k] += other.scores[k];
+            for (int k = 0; k < this.maxTiles.length; k++)
+                this.maxTiles[k] += other.maxTiles[k];
+            this.games += other.games;
+            this.moves += other.moves;
+            this.totalScore += other.totalScore;
+            this.bestScore = Math.max(this.bestScore, other.bestScore);
+        }
+
+        // returns the number of games recorded
+        public long getGames() {
+            return this.games;
+        }
+
+        // returns the share of games that reached the 2048 tile
+        public double winRate() {
+            long wins = 0;
+            for (int k = BitBoardEngine.WIN_EXPONENT; k < this.maxTiles.length; k++)
+                wins += this.maxTiles[k];
+            return this.games == 0 ? 0 : (double) wins / this.games;
+        }
+
+        // returns the score below which the given fraction of games fall (the lower edge of its bucket)
+        public int percentile(double fraction) {
+            long rank = (long) Math.ceil(fraction * this.games);
+            long seen = 0;
+            for (int k = 0; k < this.scores.length; k++) {
+                seen += this.scores[k];
+                if (seen >= rank && this.scores[k] != 0)
+                    return (int) LogLinearBuckets.lowerBound(k);
+            }
+            return this.bestScore;
+        }
+
+        // writes a human readable summary
+        public String summary(double seconds) {
+            StringBuilder text = new StringBuilder();
+            text.append(String.format("games: %d in %.2f s (%.1f games/s)%n", this.games, seconds, this.games / seconds));
+            if (this.games == 0)
+                return text.toString();
+            text.append(String.format("score: mean %.1f, p50 %d, p90 %d, p99 %d, max %d%n", (double) this.totalScore / this.games,
+                    this.percentile(0.5), this.percentile(0.9), this.percentile(0.99), this.bestScore));
+            text.append(String.format("moves per game: %.1f%n", (double) this.moves / this.games));
+            text.append(String.format("win rate: %.2f%%%n", 100 * this.winRate()));
+            text.append("max tile:");
+            for (int k = 1; k < this.maxTiles.length; k++) {
+                if (this.maxTiles[k] != 0)
+                    text.append(String.format(" %d: %.2f%%", 1 << k, 100.0 * this.maxTiles[k] / this.games));
+            }
+            return text.append(System.lineSeparator()).toString();
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        // defaults
+        long games = 1000;
+        String strategy = "random";
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.nanoTime();
+        int depth = 2;
+        String format = "csv";
+        String file = null;
+
+        // read options
+        for (int k = 0; k < args.length; k++) {
+            String value = k + 1 < args.length ? args[k + 1] : null;
+            switch (args[k]) {
+                case "--games" -> games = Long.parseLong(value);
+                case "--strategy" -> strategy = value;
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--depth" -> depth = Integer.parseInt(value);
+                case "--format" -> format = value;
+                case "--out" -> file = value;
+                default -> {
+                    System.err.println("unknown option " + args[k]);
+                    System.exit(2);
+                }
+            }
+            k++;
+        }
+
+        int searchDepth = depth;
+        LongFunction<Strategy> strategies = switch (strategy) {
+            case "random" -> RandomStrategy::new;
+            case "greedy" -> GreedyStrategy::new;
+            case "ai" -> workerSeed -> new ExpectimaxSolver(searchDepth, 18);
+            case "mc" -> workerSeed -> new MonteCarloPlayer(MonteCarloPlayer.DEFAULT_ROLLOUTS / 10, false, workerSeed);
+            default -> null;
+        };
+        if (strategies == null || !(format.equals("csv") || format.equals("json"))) {
+            System.err.println("unknown strategy or format: " + strategy + ", " + format);
+            System.exit(2);
+        }
+
+        Writer out = new BufferedWriter(file == null
+                ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                : Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8));
+
+        long start = System.nanoTime();
+        Statistics statistics = new Simulator(games, threads, seed, format.equals("json"), strategies, out).run();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        out.flush();
+        if (file != null)
+            out.close();
+
+        System.err.printf("strategy: %s, threads: %d, seed: %d%n", strategy, threads, seed);
+        System.err.print(statistics.summary(seconds));
+    }
+}
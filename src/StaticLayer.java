@@ -0,0 +1,162 @@
+// StaticLayer Class: the parts of the window that never change, rendered once and copied to every frame
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// the layer holds the background, the title, the score boxes and their headers, the new game button,
+// the instructions and the board base; the scores and the tiles are painted over it each frame
+// it is kept in a volatile image, which the screen can copy without leaving video memory, and
+// rendered again whenever its contents are lost; where volatile images are not available it is
+// kept in an ordinary image instead
+// like the tile sprites it is rendered at the scale of the screen, and again when that changes
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+public class StaticLayer {
+    private final Fonts fonts;          // fonts the text is painted in
+    private final int width;            // width of the layer
+    private final int height;           // height of the layer
+    private GraphicsConfiguration configuration;    // screen the layer is compatible with
+    private double scaleX;              // horizontal scale the layer is rendered at
+    private double scaleY;              // vertical scale the layer is rendered at
+    private VolatileImage layer;        // rendered layer, if volatile images are available
+    private BufferedImage fallback;     // rendered layer otherwise
+
+    // constructor with the fonts and the size of the layer
+    public StaticLayer(Fonts fonts, int width, int height) {
+        this.fonts = fonts;
+        this.width = width;
+        this.height = height;
+    }
+
+    // copies the layer to a graphics, rendering it first if needed
+    public void paint(Graphics2D graphics) {
+        GraphicsConfiguration configuration = graphics.getDeviceConfiguration();
+        AffineTransform transform = graphics.getTransform();
+        if (configuration != this.configuration || transform.getScaleX() != this.scaleX || transform.getScaleY() != this.scaleY) {
+            this.configuration = configuration;
+            this.scaleX = transform.getScaleX();
+            this.scaleY = transform.getScaleY();
+            this.create();
+        }
+
+        if (this.layer == null) {
+            this.copy(graphics, this.fallback);
+            return;
+        }
+
+        // the contents of a volatile image can be lost at any time, even while copying it
+        do {
+            int status = this.layer.validate(this.configuration);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                this.create();
+                if (this.layer == null) {
+                    this.copy(graphics, this.fallback);
+                    return;
+                }
+            } else if (status == VolatileImage.IMAGE_RESTORED)
+                this.render(this.layer.createGraphics());
+            this.copy(graphics, this.layer);
+        } while (this.layer.contentsLost());
+    }
+
+    // creates and renders the layer for the current screen and scale
+    private void create() {
+        int width = (int) Math.ceil(this.width * this.scaleX);
+        int height = (int) Math.ceil(this.height * this.scaleY);
+
+        if (this.layer != null)
+            this.layer.flush();
+        this.layer = this.configuration.createCompatibleVolatileImage(width, height, Transparency.OPAQUE);
+        this.fallback = null;
+
+        if (this.layer != null)
+            this.render(this.layer.createGraphics());
+        else {
+            this.fallback = this.configuration.createCompatibleImage(width, height, Transparency.OPAQUE);
+            this.render(this.fallback.createGraphics());
+        }
+    }
+
+    // copies the rendered layer at its own scale
+    private void copy(Graphics2D graphics, Image image) {
+        if (this.scaleX == 1 && this.scaleY == 1)
+            graphics.drawImage(image, 0, 0, null);
+        else
+            graphics.drawImage(image, 0, 0, this.width, this.height, null);
+    }
+
+    // renders the static parts of the window to a graphics of the layer
+    private void render(Graphics2D graphics) {
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.scale(this.scaleX, this.scaleY);
+
+        // paint background
+        graphics.setColor(Palette.BACKGROUND);
+        graphics.fillRect(0, 0, this.width, this.height);
+
+        // paint title
+        graphics.setFont(this.fonts.get(Fonts.TITLE));
+        graphics.setColor(Palette.TEXT);
+        graphics.drawString("2048", 20, 100);
+
+        // create score and high score boxes
+        graphics.setColor(Palette.BOARD);
+        graphics.fillRoundRect(245, 20, 120, 50, 5, 5);
+        graphics.fillRoundRect(370, 20, 120, 50, 5, 5);
+
+        // print score and high score headers
+        graphics.setFont(this.fonts.get(Fonts.LABEL));
+        graphics.setColor(Palette.LABEL);
+        FontMetrics metrics = this.fonts.getMetrics(Fonts.LABEL);
+
+        // center text
+        int x = 245 + (120 - metrics.stringWidth("SCORE")) / 2;
+        int y = 20 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
+        graphics.drawString("SCORE", x, y);
+        x = 370 + (120 - metrics.stringWidth("BEST")) / 2;
+        y = 20 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
+        graphics.drawString("BEST", x, y);
+
+        // display new game button (cover)
+        graphics.setColor(Palette.BUTTON);
+        graphics.fillRoundRect(370, 80, 120, 40, 5, 5);
+
+        // print new game text
+        graphics.setFont(this.fonts.get(Fonts.BUTTON));
+        graphics.setColor(Palette.LIGHT_TEXT);
+        metrics = this.fonts.getMetrics(Fonts.BUTTON);
+        x = 370 + (120 - metrics.stringWidth("New Game")) / 2;
+        y = 80 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
+        graphics.drawString("New Game", x, y);
+
+        // draw base square, where all tiles are to be drawn
+        graphics.setColor(Palette.BOARD);
+        graphics.fillRoundRect(15, 140, 475, 475, 10, 10);
+
+        // paint description (header)
+        graphics.setColor(Palette.TEXT);
+        x = 20;
+        y = 635 + metrics.getAscent();
+        graphics.drawString("HOW TO PLAY: ", x, y);
+
+        // paint description (body 1)
+        x += metrics.stringWidth("HOW TO PLAY: ");
+        graphics.setFont(this.fonts.get(Fonts.BODY));
+        metrics = this.fonts.getMetrics(Fonts.BODY);
+        graphics.drawString("Use your arrow keys to move the tiles. Tiles", x, y);
+
+        // paint description (body 2)
+        x = 20;
+        y += (metrics.getHeight() / 2) + metrics.getAscent();
+        graphics.drawString("with the same number merge into one when they touch. Add", x, y);
+
+        // paint description (body 3)
+        y += (metrics.getHeight() / 2) + metrics.getAscent();
+        graphics.drawString("them up to reach 2048!", x, y);
+
+        graphics.dispose();
+    }
+}
@@ -0,0 +1,8 @@
+// Strategy Interface: a player that picks a direction for a packed 2048 board
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+public interface Strategy {
+    // returns the direction to play on a packed board, or null if no direction moves any tile
+    Direction bestMove(long board);
+}
@@ -0,0 +1,102 @@
+// TileSprites Class: caches an image of every tile value, so painting a tile is a single image copy
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// sprites are rendered into images compatible with the screen being painted, at the scale of its
+// transform, so they copy to the screen pixel for pixel; the tiles up to 2048 are rendered together,
+// larger tiles when first painted
+// a change of screen or scale, such as moving the window to a display of another DPI, renders them again;
+// the renderer checks for one once per paint
+// the corners of a sprite are transparent, since a sliding or popping tile passes over other tiles
+// rather than the bare board
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+public class TileSprites {
+    private final Fonts fonts;          // fonts the values are painted in
+    private final Image[] sprites;      // sprite of each tile, by exponent
+    private GraphicsConfiguration configuration;    // screen the sprites are compatible with
+    private double scaleX;              // horizontal scale the sprites are rendered at
+    private double scaleY;              // vertical scale the sprites are rendered at
+
+    // base constructor
+    public TileSprites(Fonts fonts) {
+        this.fonts = fonts;
+        this.sprites = new Image[BitBoardEngine.MAX_EXPONENT + 1];
+    }
+
+    // fonts getter
+    public Fonts getFonts() {
+        return this.fonts;
+    }
+
+    // paints the tile of an exponent, 0 being the empty tile, to a graphics at the provided x and y position
+    public void paint(Graphics2D graphics, int exponent, int x, int y) {
+        Image sprite = this.sprites[exponent];
+        if (sprite == null)
+            sprite = this.sprites[exponent] = this.render(exponent);
+
+        if (this.scaleX == 1 && this.scaleY == 1)
+            graphics.drawImage(sprite, x, y, null);
+        else
+            graphics.drawImage(sprite, x, y, GridRenderer.TILE_WIDTH, GridRenderer.TILE_HEIGHT, null);
+    }
+
+    // paints the tile of an exponent scaled about its centre, as it pops in or out
+    public void paint(Graphics2D graphics, int exponent, int x, int y, double scale) {
+        int width = (int) Math.round(GridRenderer.TILE_WIDTH * scale);
+        int height = (int) Math.round(GridRenderer.TILE_HEIGHT * scale);
+        if (width <= 0 || height <= 0)
+            return;
+
+        Image sprite = this.sprites[exponent];
+        if (sprite == null)
+            sprite = this.sprites[exponent] = this.render(exponent);
+        graphics.drawImage(sprite, x + (GridRenderer.TILE_WIDTH - width) / 2, y + (GridRenderer.TILE_HEIGHT - height) / 2, width, height, null);
+    }
+
+    // renders the sprites again if the graphics paints to another screen or at another scale;
+    // called before the tiles of every paint are drawn
+    public void validate(Graphics2D graphics) {
+        GraphicsConfiguration configuration = graphics.getDeviceConfiguration();
+        AffineTransform transform = graphics.getTransform();
+        if (configuration == this.configuration && transform.getScaleX() == this.scaleX && transform.getScaleY() == this.scaleY)
+            return;
+
+        this.configuration = configuration;
+        this.scaleX = transform.getScaleX();
+        this.scaleY = transform.getScaleY();
+        for (int exponent = 0; exponent < this.sprites.length; exponent++)
+            this.sprites[exponent] = exponent <= BitBoardEngine.WIN_EXPONENT ? this.render(exponent) : null;
+    }
+
+    // renders the sprite of a tile
+    private Image render(int exponent) {
+        int width = (int) Math.ceil(GridRenderer.TILE_WIDTH * this.scaleX);
+        int height = (int) Math.ceil(GridRenderer.TILE_HEIGHT * this.scaleY);
+        BufferedImage sprite = this.configuration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+
+        Graphics2D graphics = sprite.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.scale(this.scaleX, this.scaleY);
+
+        // paint background
+        graphics.setColor(Palette.tile(exponent));
+        graphics.fillRoundRect(0, 0, GridRenderer.TILE_WIDTH, GridRenderer.TILE_HEIGHT, 10, 10);
+
+        // add text, centered
+        if (exponent != 0) {
+            FontMetrics metrics = this.fonts.getMetrics(Fonts.TILE);
+            String text = String.valueOf(1 << exponent);
+            graphics.setFont(this.fonts.get(Fonts.TILE));
+            graphics.setColor(Palette.pen(exponent));
+            int x = (GridRenderer.TILE_WIDTH - metrics.stringWidth(text)) / 2;
+            int y = ((GridRenderer.TILE_HEIGHT - metrics.getHeight()) / 2) + metrics.getAscent();
+            graphics.drawString(text, x, y);
+        }
+        graphics.dispose();
+        return sprite;
+    }
+}
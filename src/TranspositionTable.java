@@ -0,0 +1,73 @@
+// TranspositionTable Class: a bounded cache of board evaluations for the AI search, keyed on packed boards
+// Author: Stefan Barna
+// Version: 2026/10/17
+
+// the table is split into buckets of two slots; a new entry evicts the shallower of the two
+// every slot stores its key xor-ed with its data, so a slot torn by a concurrent writer simply
+// fails the key check instead of returning a wrong value
+
+import java.util.Arrays;
+
+public class TranspositionTable {
+    private final long[] keys;      // board xor data of every slot
+    private final long[] data;      // float value bits in the low half, search depth above it
+    private final int mask;         // bucket index mask
+
+    // creates a table holding 2^bits entries
+    public TranspositionTable(int bits) {
+        if (bits < 1 || bits > 28)
+            throw new IllegalArgumentException("table size out of range: 2^" + bits);
+        this.keys = new long[1 << bits];
+        this.data = new long[1 << bits];
+        this.mask = (1 << bits) - 2;
+    }
+
+    // returns the number of slots in the table
+    public int capacity() {
+        return this.keys.length;
+    }
+
+    // looks up a board searched at least to the given depth; returns NaN if it is not stored
+    public float get(long board, int depth) {
+        int slot = index(board) & this.mask;
+        for (int k = slot; k < slot + 2; k++) {
+            long entry = this.data[k];
+            if ((this.keys[k] ^ entry) == board && (int) (entry >>> 32) >= depth)
+                return Float.intBitsToFloat((int) entry);
+        }
+        return Float.NaN;
+    }
+
+    // stores the value of a board searched to the given depth
+    public void put(long board, int depth, float value) {
+        int slot = index(board) & this.mask;
+        long entry = ((long) depth << 32) | (Float.floatToRawIntBits(value) & 0xFFFFFFFFL);
+
+        // reuse the slot already holding this board, otherwise evict the shallower entry
+        int victim = slot;
+        for (int k = slot; k < slot + 2; k++) {
+            if ((this.keys[k] ^ this.data[k]) == board) {
+                victim = k;
+                break;
+            }
+            if ((this.data[k] >>> 32) < (this.data[victim] >>> 32))
+                victim = k;
+        }
+        this.data[victim] = entry;
+        this.keys[victim] = board ^ entry;
+    }
+
+    // empties the table
+    public void clear() {
+        Arrays.fill(this.keys, 0);
+        Arrays.fill(this.data, 0);
+    }
+
+    // spreads the bits of a board across the index range
+    private static int index(long board) {
+        board ^= board >>> 33;
+        board *= 0xFF51AFD7ED558CCDL;
+        board ^= board >>> 33;
+        return (int) board;
+    }
+}
@@ -12,7 +12,8 @@
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
-import java.util.Scanner;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import javax.swing.*;
 import java.awt.Graphics;
 import javax.swing.JPanel;
@@ -20,106 +21,96 @@ import javax.swing.JPanel;
 public class UI extends JPanel {
     public static final int WIDTH = 520;    // width of the UI
     public static final int HEIGHT = 780;   // height of the UI
-    private final int ANIMOD = 3;           // distance moved per timer count
+    private static final Rectangle SCORE_BOUNDS = new Rectangle(245, 20, 245, 50);  // score and high score boxes
+    private static final Rectangle BOARD_BOUNDS = new Rectangle(15, 140, 475, 475); // board, under the overlays
+    private static final int MOVE_CAPACITY = 8;             // moves that can wait for the animation, further keys are dropped
+    private static final int SKIP_BACKLOG = 3;              // moves waiting before animations are skipped altogether
+    private static final long HURRY_NANOS = 40_000_000L;    // longest an animation may still run while moves wait
+    private static final int FRAME_DELAY = 15;              // milliseconds between animation frames
+    private static final Rectangle HUD_BOUNDS = new Rectangle(10, 10, 230, 110);     // frame statistics overlay
 
     private final Grid g;       // 2048 grid
+    private final GridRenderer renderer;    // paints the grid
+    private final Fonts fonts;              // fonts loaded once, in every size painted
+    private final StaticLayer layer;        // parts of the window that never change
+    private final SaveFile saveFile;        // game state on disk
+    private final Journal journal;          // turns since the newest save, on disk
     private final Timer time;   // timer object
     private boolean timerOn;    // true of the timer is running
-    private int counter;        // timer counter
+    private final Rectangle animated = new Rectangle();    // region of the tiles in motion, repainted each timer count
+    private final ArrayDeque<Direction> moves = new ArrayDeque<>(MOVE_CAPACITY);    // moves waiting for the animation
+    private final FrameStats frameStats = new FrameStats(FRAME_DELAY * 1_000_000L); // paint times, shown by F3
+    private boolean hudVisible; // true if the frame statistics are shown
 
     // ui buttons
     public JButton reset;       // restart button
     public JButton playAgain;   // restart button (exclusive to the win or loss screen)
     public JButton resume;      // continue button (exclusive to the win screen)
 
-    // direction velocity controls
-    int xvel,
-        yvel;
-
     public UI() {
         // set focus
         setFocusable(true);
         requestFocusInWindow();
 
         // set timer and check for timer related actions performed
-        this.time = new Timer(15, new ActionListener() {
+        this.time = new Timer(FRAME_DELAY, new ActionListener() {
             public void actionPerformed(ActionEvent evt) {
-                // check if the action comes from the timer
-                counter++;
-                repaint();
-                // when the timer should close
-                if (counter > 5) {
+                // repaint the tiles in motion; each frame is placed by the clock, not by this count
+                repaint(animated);
+                if (hudVisible)
+                    repaint(HUD_BOUNDS);
+                playMoves();
+                // when the animation and the moves have played out, after which this repaint paints the tiles at rest
+                if (!g.getAnimation().isRunning(System.nanoTime())) {
                     time.stop();
                     timerOn = false;
-                    counter = 0;
-                    xvel = 0;
-                    yvel = 0;
-
-                    // cleanup after animation
-                    g.resetTileStatus();
+                    frameStats.animationEnded();
                 }
             }
         });
         this.time.stop();
         this.timerOn = false;
-        this.counter = 0;
 
         // detect key presses
         addKeyListener(new KeyAdapter() {
             public void keyTyped(KeyEvent e) {}
 
             public void keyPressed(KeyEvent e) {
-                // check if a current move is in play
-                if (!g.gameOver() && !g.gameWon()) {
-                    time.start();
-                    timerOn = true;
-
-                    // set message appropriate to the arrow clicked
-                    String message;
-                    switch (e.getKeyCode()) {
-                        case KeyEvent.VK_UP -> {
-                            message = "UP";
-                            xvel = 0;
-                            yvel = -1;
-                        }
-                        case KeyEvent.VK_DOWN -> {
-                            message = "DOWN";
-                            xvel = 0;
-                            yvel = 1;
-                        }
-                        case KeyEvent.VK_LEFT -> {
-                            message = "LEFT";
-                            xvel = -1;
-                            yvel = 0;
-                        }
-                        case KeyEvent.VK_RIGHT -> {
-                            message = "RIGHT";
-                            xvel = 1;
-                            yvel = 0;
-                        }
-                        default -> {
-                            message = "";
-                            xvel = 0;
-                            yvel = 0;
-                        }
+                // f3 shows or hides the frame statistics
+                if (e.getKeyCode() == KeyEvent.VK_F3) {
+                    hudVisible = !hudVisible;
+                    repaint(HUD_BOUNDS);
+                    return;
+                }
+
+                // undo (ctrl + z) and redo (ctrl + y) work even once the game has ended
+                if (e.isControlDown() && (e.getKeyCode() == KeyEvent.VK_Z || e.getKeyCode() == KeyEvent.VK_Y)) {
+                    // moves still waiting were meant for the board being undone
+                    moves.clear();
+                    boolean changed = e.getKeyCode() == KeyEvent.VK_Z ? g.undo() : g.redo();
+                    if (changed) {
+                        playAgain.setEnabled(g.gameOver() || g.gameWon());
+                        resume.setEnabled(g.gameWon());
+                        repaint();
                     }
+                    return;
+                }
 
-                    // check if a viable button was clicked
-                    if (!message.equals("")) {
-                        g.turn(message);
-                        // if the player has made a viable turn
-                        if (g.turnMade()) {
-                            g.generateTile();
-                            repaint();
-
-                            // check for loss
-                            if (g.gameOver())
-                                playAgain.setEnabled(true);
-                            if (g.gameWon()) {
-                                playAgain.setEnabled(true);
-                                resume.setEnabled(true);
-                            }
-                        }
+                // check if a current move is in play
+                if (!g.gameOver() && !g.gameWon()) {
+                    // set direction appropriate to the arrow clicked
+                    Direction direction = switch (e.getKeyCode()) {
+                        case KeyEvent.VK_UP -> Direction.UP;
+                        case KeyEvent.VK_DOWN -> Direction.DOWN;
+                        case KeyEvent.VK_LEFT -> Direction.LEFT;
+                        case KeyEvent.VK_RIGHT -> Direction.RIGHT;
+                        default -> null;
+                    };
+
+                    // queue the move, unless it repeats the move already waiting last or too many are waiting
+                    if (direction != null && moves.peekLast() != direction && moves.size() < MOVE_CAPACITY) {
+                        moves.addLast(direction);
+                        playMoves();
                     }
                 }
             }
@@ -128,32 +119,123 @@ public class UI extends JPanel {
         });
 
         g = new Grid();
+        renderer = new GridRenderer();
+        fonts = new Fonts();
+        layer = new StaticLayer(fonts, UI.WIDTH, UI.HEIGHT);
+        saveFile = new SaveFile(Path.of("save.dat"));
+        journal = new Journal(Path.of("save.journal"), saveFile);
     }
 
-    // saves grid information to a save file
-    public void save() {
-        // save the high score to a file
-        try {
-            FileWriter file = new FileWriter("save.txt");
-            file.write(String.valueOf(this.g.getHighscore()));
-            file.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+    // plays the waiting moves the animation has room for: one once the current animation has played out,
+    // and, as moves back up, hurrying the animation along and then skipping it
+    private void playMoves() {
+        long now = System.nanoTime();
+        Animation animation = this.g.getAnimation();
+        if (!this.moves.isEmpty())
+            animation.hurry(now, this.moves.size() >= SKIP_BACKLOG ? 0 : HURRY_NANOS);
+
+        while (!this.moves.isEmpty() && !animation.isRunning(now)) {
+            // the game ended with moves still waiting
+            if (this.g.gameOver() || this.g.gameWon()) {
+                this.moves.clear();
+                return;
+            }
+
+            // if the player has made a viable turn
+            int status = this.g.getStatusVersion();
+            long result = this.g.turn(this.moves.removeFirst());
+            if (!MoveResult.moved(result))
+                continue;
+            this.g.generateTile();
+
+            // animate the turn, unless the moves have backed up, repainting only the cells it changed or slid across
+            if (this.moves.size() < SKIP_BACKLOG)
+                animation.start(now);
+            if (!this.moves.isEmpty())
+                animation.hurry(now, this.moves.size() >= SKIP_BACKLOG ? 0 : HURRY_NANOS);
+            Rectangle cells = UI.cellBounds(this.g.getChangedCells() | animation.getCells());
+            if (this.timerOn)
+                this.animated.add(cells);
+            else
+                this.animated.setBounds(cells);
+            this.repaint(this.animated);
+            if (this.hudVisible)
+                this.repaint(HUD_BOUNDS);
+            this.time.start();
+            this.timerOn = true;
+
+            // and the scores if they changed
+            if (MoveResult.scoreDelta(result) != 0)
+                this.repaint(SCORE_BOUNDS);
+
+            // check for loss or win, only when the game status changed
+            if (this.g.getStatusVersion() != status) {
+                this.repaint(BOARD_BOUNDS);
+                if (this.g.gameOver())
+                    this.playAgain.setEnabled(true);
+                if (this.g.gameWon()) {
+                    this.playAgain.setEnabled(true);
+                    this.resume.setEnabled(true);
+                }
+            }
         }
     }
 
-    // load grid information from save file
+    // saves the game and waits for it to reach the disk, before the program exits
+    public void close() {
+        this.journal.close();
+        System.err.print(this.frameStats.summary());
+    }
+
+    // load the game from the save file and its journal, or just the high score from an old save file,
+    // then start journaling every turn
     public void load() {
+        boolean loaded;
         try {
-            File file = new File("save.txt");
-            Scanner reader = new Scanner(file);
-            this.g.setHighscore(Integer.parseInt(reader.nextLine()));
-        } catch (FileNotFoundException e) {
+            loaded = this.saveFile.load(this.g);
+            if (!loaded) {
+                SaveFile.loadHighscore(Path.of("save.txt"), this.g);
+
+                // without a save, a fresh game counts as started
+                this.g.restart();
+            }
+        } catch (IOException | RuntimeException e) {
             e.printStackTrace();
+
+            // a damaged save file starts a new game
+            this.g.restart();
+            loaded = false;
         }
+
+        // a damaged journal keeps the records replayed before the damage, on top of the save file
+        if (loaded) {
+            try {
+                Journal.restore(Path.of("save.journal"), this.saveFile.getGeneration(), this.g);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+        this.journal.start(this.g);
+    }
+
+    // returns the region covering a mask of cells (bit 4 * row + col) and the gaps around them,
+    // which merged tiles pop out over
+    private static Rectangle cellBounds(int cells) {
+        Rectangle bounds = new Rectangle();
+        for (int rest = cells; rest != 0; rest &= rest - 1) {
+            int cell = Integer.numberOfTrailingZeros(rest);
+            Rectangle cellBounds = new Rectangle(15 + 115 * (cell % Grid.SIZE), 140 + 115 * (cell / Grid.SIZE), 130, 130);
+            if (bounds.isEmpty())
+                bounds = cellBounds;
+            else
+                bounds.add(cellBounds);
+        }
+        return bounds;
     }
 
     public void paint(Graphics graphics) {
+        long begin = System.nanoTime();
+        this.frameStats.frameStarted(begin, this.timerOn);
         super.paint(graphics);
 
         // check if Graphics is convertible to Graphics2D
@@ -161,98 +243,56 @@ public class UI extends JPanel {
             // enable antialiasing
             g2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
-            // enable custom font
-            try {
-                // create a new true type font
-                Font f = Font.createFont(Font.TRUETYPE_FONT, new File("ClearSans-Bold.ttf")).deriveFont(80f);
-                GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-                //register the font
-                ge.registerFont(f);
-                g2D.setFont(f);
-
-                // paint title
-                g2D.setColor(Color.decode("#776e65"));
-                g2D.drawString("2048", 20, 100);
-
-                // create score and high score boxes
-                g2D.setColor(Color.decode("#bbada0"));
-                g2D.fillRoundRect(245, 20, 120, 50, 5, 5);
-                g2D.fillRoundRect(370, 20, 120, 50, 5, 5);
-
-                // print score and high score headers
-                f = f.deriveFont(13f);
-                g2D.setFont(f);
-                g2D.setColor(Color.decode("#ebded1"));
-                FontMetrics metrics = graphics.getFontMetrics(f);
-
-                // center text
-                int x = 245 + (120 - metrics.stringWidth("SCORE")) / 2;
-                int y = 20 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
-                graphics.drawString("SCORE", x, y);
-                x = 370 + (120 - metrics.stringWidth("BEST")) / 2;
-                y = 20 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
-                graphics.drawString("BEST", x, y);
-
-                // display score
-                f = f.deriveFont(25f);
-                g2D.setFont(f);
-                g2D.setColor(Color.decode("#ffffff"));
-                metrics = graphics.getFontMetrics(f);
-
-                x = 245 + (120 - metrics.stringWidth(String.valueOf(this.g.getScore()))) / 2;
-                y = 40 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
-                graphics.drawString(String.valueOf(this.g.getScore()), x, y);
-
-                // display high score
-                x = 370 + (120 - metrics.stringWidth(String.valueOf(this.g.getHighscore()))) / 2;
-                y = 40 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
-                graphics.drawString(String.valueOf(this.g.getHighscore()), x, y);
-
-                // display new game button (cover)
-                g2D.setColor(Color.decode("#8f7a66"));
-                g2D.fillRoundRect(370, 80, 120, 40, 5, 5);
-
-                // print new game text
-                f = f.deriveFont(18f);
-                g2D.setFont(f);
-                g2D.setColor(Color.decode("#ffffff"));
-                metrics = graphics.getFontMetrics(f);
-                x = 370 + (120 - metrics.stringWidth("New Game")) / 2;
-                y = 80 + ((40 - metrics.getHeight()) / 2) + metrics.getAscent();
-                graphics.drawString( "New Game", x, y);
-
-                // draw the grid
-                this.g.paint(g2D, f, 15 - (this.counter * this.ANIMOD), this.xvel, this.yvel);
-
-                // paint description (header)
-                f = f.deriveFont(18f);
-                g2D.setFont(f);
-                g2D.setColor(Color.decode("#776e65"));
-                x = 20;
-                y = 635 + metrics.getAscent();
-                graphics.drawString("HOW TO PLAY: ", x, y);
-
-                // paint description (body 1)
-                x += metrics.stringWidth("HOW TO PLAY: ");
-                f = Font.createFont(Font.TRUETYPE_FONT, new File("ClearSans-Regular.ttf")).deriveFont(17f); // register a new font
-                ge.registerFont(f);
-                g2D.setFont(f);
-                metrics = graphics.getFontMetrics(f);
-                graphics.drawString("Use your arrow keys to move the tiles. Tiles", x, y);
-
-                // paint description (body 2)
-                x = 20;
-                y += (metrics.getHeight() / 2) + metrics.getAscent();
-                graphics.drawString("with the same number merge into one when they touch. Add", x, y);
-
-                // paint description (body 3)
-                y += (metrics.getHeight() / 2) + metrics.getAscent();
-                graphics.drawString("them up to reach 2048!", x, y);
-
-            } catch (IOException|FontFormatException e) {
-                e.printStackTrace();
-            }
+            // copy the parts of the window that never change
+            this.layer.paint(g2D);
+
+            // display score, unless only the grid is being repainted
+            Rectangle clip = g2D.getClipBounds();
+            if (clip == null || clip.intersects(SCORE_BOUNDS))
+                this.paintScores(g2D);
+
+            // draw the grid
+            long gridBegin = System.nanoTime();
+            this.renderer.paint(g2D, this.g, this.fonts, gridBegin);
+            this.frameStats.gridPainted(System.nanoTime() - gridBegin);
+
+            // show the frame statistics, unless only the grid is being repainted
+            if (this.hudVisible && (clip == null || clip.intersects(HUD_BOUNDS)))
+                this.paintHud(g2D);
         }
+        this.frameStats.framePainted(System.nanoTime() - begin);
+    }
+
+    // paints the frame statistics overlay
+    private void paintHud(Graphics2D graphics) {
+        graphics.setColor(Palette.HUD);
+        graphics.fillRoundRect(HUD_BOUNDS.x, HUD_BOUNDS.y, HUD_BOUNDS.width, HUD_BOUNDS.height, 5, 5);
+
+        graphics.setFont(this.fonts.get(Fonts.LABEL));
+        graphics.setColor(Palette.LIGHT_TEXT);
+        FontMetrics metrics = this.fonts.getMetrics(Fonts.LABEL);
+        int y = HUD_BOUNDS.y + 5 + metrics.getAscent();
+        for (String line : this.frameStats.lines()) {
+            graphics.drawString(line, HUD_BOUNDS.x + 8, y);
+            y += metrics.getHeight();
+        }
+    }
+
+    // paints the score and high score values
+    private void paintScores(Graphics2D graphics) {
+        // display score
+        graphics.setFont(this.fonts.get(Fonts.SCORE));
+        graphics.setColor(Palette.LIGHT_TEXT);
+        FontMetrics metrics = this.fonts.getMetrics(Fonts.SCORE);
+
+        int x = 245 + (120 - metrics.stringWidth(String.valueOf(this.g.getScore()))) / 2;
+        int y = 40 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
+        graphics.drawString(String.valueOf(this.g.getScore()), x, y);
+
+        // display high score
+        x = 370 + (120 - metrics.stringWidth(String.valueOf(this.g.getHighscore()))) / 2;
+        y = 40 + ((25 - metrics.getHeight()) / 2) + metrics.getAscent();
+        graphics.drawString(String.valueOf(this.g.getHighscore()), x, y);
     }
 
     public static void main(String[] args) {
@@ -262,7 +302,7 @@ public class UI extends JPanel {
         frame.add(gui);                                         // add gui to frame
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);   // set method of exit
         frame.setSize(UI.WIDTH, UI.HEIGHT);                     // set dimensions
-        gui.setBackground(Color.decode("#faf8ef"));             // set frame background color
+        gui.setBackground(Palette.BACKGROUND);             // set frame background color
         frame.setVisible(true);                                 // set frame to visible
         frame.setResizable(false);
 
@@ -278,6 +318,7 @@ public class UI extends JPanel {
         gui.reset.setFocusable(false);
         gui.reset.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e){
+                gui.moves.clear();
                 gui.g.restart();
                 gui.repaint();
                 // set buttons back to disabled
@@ -296,6 +337,7 @@ public class UI extends JPanel {
         gui.playAgain.setEnabled(true);
         gui.playAgain.addActionListener(new ActionListener() {
             public void actionPerformed(ActionEvent e){
+                gui.moves.clear();
                 gui.g.restart();
                 gui.repaint();
                 // set buttons back to disabled
@@ -336,7 +378,7 @@ public class UI extends JPanel {
         // when the gui closes
         frame.addWindowListener(new java.awt.event.WindowAdapter() {
             public void windowClosing(java.awt.event.WindowEvent event) {
-                gui.save();
+                gui.close();
 
                 // exit the program
                 System.exit(0);